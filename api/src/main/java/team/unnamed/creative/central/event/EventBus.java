@@ -23,6 +23,7 @@
  */
 package team.unnamed.creative.central.event;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -81,10 +82,54 @@ public interface EventBus {
         });
     }
 
+    /**
+     * Registers a new {@link EventListener#async() asynchronous}
+     * {@link EventListener} using the given {@code listener} and
+     * {@code priority}, from the given {@code plugin} and for the
+     * given event type
+     *
+     * @param plugin The registerer plugin
+     * @param eventType The subscribed event type
+     * @param priority The event listener priority
+     * @param listener The actual event listener
+     * @param <E> The event type
+     * @see #callAsync(Class, Event)
+     * @since 1.4.0
+     */
+    default <E extends Event> void listenAsync(Object plugin, Class<E> eventType, EventListener.Priority priority, Consumer<E> listener) {
+        listen(plugin, eventType, new EventListener<E>() {
+
+            @Override
+            public void on(E event) {
+                listener.accept(event);
+            }
+
+            @Override
+            public Priority priority() {
+                return priority;
+            }
+
+            @Override
+            public boolean async() {
+                return true;
+            }
+
+            @Override
+            public String toString() {
+                return "EventListener<" + eventType + "> { " +
+                        "priority = '" + priority + "', " +
+                        "async = 'true', " +
+                        "listener = '" + listener + "' " +
+                        "}";
+            }
+
+        });
+    }
+
     /**
      * Calls the given {@code event}. This will execute
      * all the listener subscribed to the provided event
-     * type.
+     * type, or to any of its supertypes.
      *
      * @param eventType The event type
      * @param event The event data
@@ -93,4 +138,25 @@ public interface EventBus {
      */
     <E extends Event> void call(Class<E> eventType, E event);
 
+    /**
+     * Calls the given {@code event}, executing the synchronous
+     * listeners in the current thread and the {@link EventListener#async()
+     * asynchronous} ones in a separate thread, after the synchronous
+     * ones.
+     *
+     * <p>Priority is respected between the synchronous listeners and
+     * between the asynchronous listeners.</p>
+     *
+     * @param eventType The event type
+     * @param event The event data
+     * @param <E> The event type
+     * @return A future completed with the given event when all the
+     * listeners are executed
+     * @since 1.4.0
+     */
+    default <E extends Event> CompletableFuture<E> callAsync(Class<E> eventType, E event) {
+        call(eventType, event);
+        return CompletableFuture.completedFuture(event);
+    }
+
 }
@@ -59,6 +59,23 @@ public interface EventListener<E extends Event> {
         return Priority.NORMAL;
     }
 
+    /**
+     * Determines whether this listener can be executed outside
+     * the thread calling the event. Asynchronous listeners are
+     * executed after the synchronous ones, in a separate thread,
+     * when the event is called using {@link EventBus#callAsync}.
+     *
+     * <p>Asynchronous listeners must not modify the event or
+     * access thread-confined server state.</p>
+     *
+     * @return True if this listener can be executed asynchronously
+     * @see EventBus#callAsync(Class, Event)
+     * @since 1.4.0
+     */
+    default boolean async() {
+        return false;
+    }
+
     /**
      * The priority of an {@link EventListener}.
      *
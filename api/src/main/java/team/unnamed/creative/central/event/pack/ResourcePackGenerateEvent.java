@@ -25,7 +25,6 @@ package team.unnamed.creative.central.event.pack;
 
 import org.jetbrains.annotations.NotNull;
 import team.unnamed.creative.ResourcePack;
-import team.unnamed.creative.central.event.Event;
 
 import static java.util.Objects.requireNonNull;
 
@@ -36,7 +35,7 @@ import static java.util.Objects.requireNonNull;
  *
  * @since 1.0.0
  */
-public final class ResourcePackGenerateEvent implements Event {
+public final class ResourcePackGenerateEvent implements ResourcePackEvent {
     private static final int ANY_FORMAT = -1;
 
     private final ResourcePack resourcePack;
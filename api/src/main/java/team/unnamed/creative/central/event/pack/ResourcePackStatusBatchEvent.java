@@ -0,0 +1,105 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.event.pack;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.central.pack.ResourcePackStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An event called with all the resource-pack statuses received
+ * during a server tick, when status batching is enabled. Lets
+ * listeners process many statuses at once, e.g. to write them
+ * in bulk during mass joins.
+ *
+ * <p>When status batching is enabled, statuses are delivered through
+ * one of two paths that never overlap: listeners registered for
+ * exactly {@link ResourcePackStatusEvent} still receive every status
+ * individually, and every other listener, including the ones for
+ * supertypes like {@link ResourcePackEvent}, only receives this
+ * event.</p>
+ *
+ * @since 1.4.0
+ */
+public final class ResourcePackStatusBatchEvent implements ResourcePackEvent {
+    private final List<Object> players;
+    private final List<ResourcePackStatus> statuses;
+
+    /**
+     * Instantiate a new {@link ResourcePackStatusBatchEvent}, the
+     * player and status at each index form a received status.
+     *
+     * @param players The players that sent the statuses, in order
+     * @param statuses The received statuses, in order
+     * @since 1.4.0
+     */
+    public ResourcePackStatusBatchEvent(final @NotNull List<?> players, final @NotNull List<ResourcePackStatus> statuses) {
+        requireNonNull(players, "players");
+        requireNonNull(statuses, "statuses");
+        if (players.size() != statuses.size()) {
+            throw new IllegalArgumentException("Expected a status for every player, got "
+                    + players.size() + " players and " + statuses.size() + " statuses");
+        }
+        this.players = new ArrayList<>(players);
+        this.statuses = new ArrayList<>(statuses);
+    }
+
+    /**
+     * Returns the amount of received statuses.
+     *
+     * @return The amount of statuses
+     * @since 1.4.0
+     */
+    public int size() {
+        return statuses.size();
+    }
+
+    /**
+     * Returns the player who sent the status at the given index.
+     * The type depends on the server platform.
+     *
+     * @param index The status index, in the order they were received
+     * @return The player object
+     * @since 1.4.0
+     */
+    public @NotNull Object player(final int index) {
+        return players.get(index);
+    }
+
+    /**
+     * Returns the received status at the given index.
+     *
+     * @param index The status index, in the order they were received
+     * @return The resource-pack status
+     * @since 1.4.0
+     */
+    public @NotNull ResourcePackStatus status(final int index) {
+        return statuses.get(index);
+    }
+
+}
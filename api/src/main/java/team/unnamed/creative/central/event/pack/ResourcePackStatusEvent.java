@@ -24,7 +24,6 @@
 package team.unnamed.creative.central.event.pack;
 
 import org.jetbrains.annotations.NotNull;
-import team.unnamed.creative.central.event.Event;
 import team.unnamed.creative.central.pack.ResourcePackStatus;
 
 import static java.util.Objects.requireNonNull;
@@ -36,7 +35,7 @@ import static java.util.Objects.requireNonNull;
  *
  * @since 1.0.0
  */
-public final class ResourcePackStatusEvent implements Event {
+public final class ResourcePackStatusEvent implements ResourcePackEvent {
     private final Object player;
     private final ResourcePackStatus status;
 
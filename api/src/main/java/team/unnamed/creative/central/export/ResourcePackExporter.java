@@ -23,10 +23,14 @@
  */
 package team.unnamed.creative.central.export;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.ResourcePack;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Interface for exporting resource packs to different
@@ -51,4 +55,70 @@ public interface ResourcePackExporter {
      */
     @Nullable ResourcePackLocation export(ResourcePack resourcePack) throws IOException;
 
+    /**
+     * Exports the given {@code resourcePack}, which has already
+     * been built (serialized and hashed) to {@code builtResourcePack}.
+     *
+     * <p>Exporters should override this method to use the given
+     * built resource-pack instead of serializing the resource-pack
+     * again, so that it is serialized only once even when exported
+     * to several targets. By default, it just delegates to
+     * {@link #export(ResourcePack)}.</p>
+     *
+     * @param resourcePack The resource pack to export
+     * @param builtResourcePack The built resource pack
+     * @return The location of the exported resource pack,
+     * null if the exporting method is not hosted
+     * @throws IOException If the exporting process fails
+     * @since 1.4.0
+     */
+    default @Nullable ResourcePackLocation export(
+            final @NotNull ResourcePack resourcePack,
+            final @NotNull BuiltResourcePack builtResourcePack
+    ) throws IOException {
+        return export(resourcePack);
+    }
+
+    /**
+     * Asynchronously exports the given {@code resourcePack}, which
+     * has already been built to {@code builtResourcePack}, using the
+     * given {@code executor}.
+     *
+     * <p>The returned future completes with the location of the
+     * exported resource pack (null if the exporting method is not
+     * hosted), or exceptionally if the exporting process fails or
+     * times out. Cancelling the returned future cancels the exporting
+     * process if the exporter supports it (e.g. closing the
+     * connection to the remote server).</p>
+     *
+     * <p>By default, it just executes {@link #export(ResourcePack, BuiltResourcePack)}
+     * using the given executor.</p>
+     *
+     * @param resourcePack The resource pack to export
+     * @param builtResourcePack The built resource pack
+     * @param executor The executor to use to perform the export
+     * @return A completable future of the location of the exported
+     * resource pack
+     * @since 1.4.0
+     */
+    default @NotNull CompletableFuture<ResourcePackLocation> exportAsync(
+            final @NotNull ResourcePack resourcePack,
+            final @NotNull BuiltResourcePack builtResourcePack,
+            final @NotNull Executor executor
+    ) {
+        final CompletableFuture<ResourcePackLocation> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                // cancelled before starting
+                return;
+            }
+            try {
+                future.complete(export(resourcePack, builtResourcePack));
+            } catch (final Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
 }
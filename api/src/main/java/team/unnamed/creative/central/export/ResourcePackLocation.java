@@ -27,6 +27,9 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
@@ -34,10 +37,12 @@ public final class ResourcePackLocation {
 
     private final URI uri;
     private final String hash;
+    private final List<URI> mirrors;
 
-    private ResourcePackLocation(URI uri, String hash) {
+    private ResourcePackLocation(URI uri, String hash, List<URI> mirrors) {
         this.uri = requireNonNull(uri, "url");
         this.hash = requireNonNull(hash, "hash");
+        this.mirrors = Collections.unmodifiableList(new ArrayList<>(requireNonNull(mirrors, "mirrors")));
     }
 
     @Deprecated
@@ -54,14 +59,39 @@ public final class ResourcePackLocation {
         return hash;
     }
 
+    /**
+     * Returns the other URIs the same resource pack (same
+     * hash) can be downloaded from, besides {@link #uri()}.
+     *
+     * @return The mirror URIs, may be empty
+     * @since 1.4.0
+     */
+    public @NotNull List<URI> mirrors() {
+        return mirrors;
+    }
+
     public static @NotNull ResourcePackLocation of(final @NotNull URI uri, final @NotNull String hash) {
-        return new ResourcePackLocation(uri, hash);
+        return new ResourcePackLocation(uri, hash, Collections.emptyList());
+    }
+
+    /**
+     * Creates a new resource pack location that can also be
+     * downloaded from the given mirror URIs.
+     *
+     * @param uri The main resource pack URI
+     * @param hash The resource pack SHA-1 hash
+     * @param mirrors The other URIs for the same resource pack
+     * @return The resource pack location
+     * @since 1.4.0
+     */
+    public static @NotNull ResourcePackLocation of(final @NotNull URI uri, final @NotNull String hash, final @NotNull List<URI> mirrors) {
+        return new ResourcePackLocation(uri, hash, mirrors);
     }
 
     @Deprecated
     @ApiStatus.ScheduledForRemoval(inVersion = "2.0.0")
     public static @NotNull ResourcePackLocation of(String url, String hash) {
-        return new ResourcePackLocation(URI.create(url), hash);
+        return new ResourcePackLocation(URI.create(url), hash, Collections.emptyList());
     }
 
 }
@@ -23,12 +23,17 @@
  */
 package team.unnamed.creative.central.server;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.central.request.ResourcePackRequest;
 
+import java.util.UUID;
+import java.util.function.Function;
+
 public final class ServeOptions {
 
     private @Nullable ResourcePackRequest request = null;
+    private @Nullable Function<UUID, ResourcePackRequest> playerRequest = null;
     private int delay = 0;
     private boolean serve = true;
 
@@ -38,6 +43,43 @@ public final class ServeOptions {
 
     public void request(@Nullable ResourcePackRequest request) {
         this.request = request;
+        this.playerRequest = null;
+    }
+
+    /**
+     * Returns the resource pack request to send to the given
+     * player, it may differ between players (e.g. when the resource
+     * pack is hosted in several places), or be null if there is no
+     * resource pack request.
+     *
+     * @param playerId The player unique id
+     * @return The resource pack request for the player
+     * @since 1.4.0
+     */
+    public @Nullable ResourcePackRequest request(final @NotNull UUID playerId) {
+        final ResourcePackRequest request = this.request;
+        final Function<UUID, ResourcePackRequest> playerRequest = this.playerRequest;
+        if (request == null || playerRequest == null) {
+            return request;
+        }
+        final ResourcePackRequest result = playerRequest.apply(playerId);
+        return result == null ? request : result;
+    }
+
+    /**
+     * Sets the resource pack request, and a function that
+     * determines the request for every player, used by
+     * {@link #request(UUID)}.
+     *
+     * @param request The default resource pack request
+     * @param playerRequest The function that determines the
+     *                      request for a player, may return null
+     *                      to use the default one
+     * @since 1.4.0
+     */
+    public void request(@Nullable ResourcePackRequest request, @Nullable Function<UUID, ResourcePackRequest> playerRequest) {
+        this.request = request;
+        this.playerRequest = request == null ? null : playerRequest;
     }
 
     public int delay() {
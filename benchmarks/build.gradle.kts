@@ -0,0 +1,17 @@
+plugins {
+    id("creative.java-conventions")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    jmh(project(":creative-central-api"))
+    jmh(project(":creative-central-common"))
+    jmh(libs.creative.serializer.minecraft)
+    jmh(libs.creative.server)
+}
+
+jmh {
+    // machine readable results, so that regressions can be tracked
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
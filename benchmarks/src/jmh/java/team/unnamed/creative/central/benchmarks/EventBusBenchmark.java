@@ -0,0 +1,101 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import team.unnamed.creative.central.common.event.EventBusImpl;
+import team.unnamed.creative.central.common.event.EventExceptionHandler;
+import team.unnamed.creative.central.event.Event;
+import team.unnamed.creative.central.event.EventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks event dispatching through the {@link EventBusImpl},
+ * with different amounts of registered listeners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventBusBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int listeners;
+
+    private EventBusImpl<Object> eventBus;
+    private BenchmarkEvent event;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        final EventListener.Priority[] priorities = EventListener.Priority.values();
+        for (int i = 0; i < listeners; i++) {
+            eventBus.listen(this, BenchmarkEvent.class, priorities[i % priorities.length], e -> e.count++);
+        }
+        event = new BenchmarkEvent();
+    }
+
+    @Benchmark
+    public void call(final Blackhole blackhole) {
+        eventBus.call(BenchmarkEvent.class, event);
+        blackhole.consume(event.count);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void callConcurrently(final Blackhole blackhole) {
+        final BenchmarkEvent event = new BenchmarkEvent();
+        eventBus.call(BenchmarkEvent.class, event);
+        blackhole.consume(event.count);
+    }
+
+    @Benchmark
+    public void callWithoutListeners() {
+        eventBus.call(UnlistenedEvent.class, new UnlistenedEvent());
+    }
+
+    public static final class BenchmarkEvent implements Event {
+        private int count;
+    }
+
+    public static final class UnlistenedEvent implements Event {
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.central.common.pack.CachingDirectoryReader;
+import team.unnamed.creative.central.common.pack.DeterministicResourcePackWriter;
+import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks the resource-pack generation steps: reading the
+ * resources folder, merging external resource-packs and building
+ * the final zip file, for synthetic resource-packs of different
+ * sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ResourcePackGenerationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int files;
+
+    private File directory;
+    private CachingDirectoryReader cachingReader;
+    private ResourcePack resourcePack;
+    private ResourcePack external;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("creative-central-bench").toFile();
+        write(directory.toPath().resolve("pack.mcmeta"),
+                "{\"pack\":{\"pack_format\":15,\"description\":\"benchmark\"}}");
+
+        final Path models = directory.toPath().resolve("assets/benchmark/models/item");
+        Files.createDirectories(models);
+        for (int i = 0; i < files; i++) {
+            write(models.resolve("model_" + i + ".json"),
+                    "{\"parent\":\"item/generated\",\"textures\":{\"layer0\":\"benchmark:item/texture_" + i + "\"}}");
+        }
+
+        final MinecraftResourcePackReader reader = MinecraftResourcePackReader.minecraft();
+        cachingReader = new CachingDirectoryReader(reader);
+        cachingReader.read(directory);
+        resourcePack = reader.readFromDirectory(directory);
+        external = reader.readFromDirectory(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public ResourcePack read() {
+        return MinecraftResourcePackReader.minecraft().readFromDirectory(directory);
+    }
+
+    @Benchmark
+    public ResourcePack readUnchanged() {
+        // nothing changed since the setup, only checks file stamps
+        return cachingReader.read(directory);
+    }
+
+    @Benchmark
+    public ResourcePack merge() {
+        final ResourcePack merged = ResourcePack.resourcePack();
+        merged.merge(resourcePack, MergeStrategy.override());
+        merged.merge(external, MergeStrategy.mergeAndKeepFirstOnError());
+        return merged;
+    }
+
+    @Benchmark
+    public BuiltResourcePack build() {
+        return DeterministicResourcePackWriter.build(resourcePack);
+    }
+
+    private static void write(final Path path, final String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.central.common.config.ExportConfiguration;
+import team.unnamed.creative.central.common.server.CommonResourcePackServer;
+import team.unnamed.creative.central.common.server.RequestExecutors;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmarks the throughput of the embedded resource-pack server
+ * under many concurrent downloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class ResourcePackServerBenchmark {
+
+    @Param({"1048576", "16777216"})
+    private int size;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    private CommonResourcePackServer server;
+    private URL url;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // half random and half repeated data, so that compression
+        // has something to do
+        final byte[] data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        for (int i = size / 2; i < size; i++) {
+            data[i] = (byte) (i % 16);
+        }
+
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        server = new CommonResourcePackServer();
+        final ExportConfiguration.ExecutorConfiguration executor = new ExportConfiguration.ExecutorConfiguration();
+        executor.type("pool");
+        executor.threads(16);
+        server.executor(RequestExecutors.create(executor, Logger.getLogger("benchmark")));
+        server.resourcePack(BuiltResourcePack.of(Writable.bytes(data), "benchmark"));
+        server.open("127.0.0.1", "127.0.0.1", port);
+        url = new URL("http://127.0.0.1:" + port + "/");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long download() throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestProperty("Accept-Encoding", encoding);
+        long read = 0;
+        try (InputStream input = connection.getInputStream()) {
+            final byte[] buffer = new byte[8192];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                read += n;
+            }
+        }
+        return read;
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.central.export.ResourcePackLocation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the upload request bodies of the remote exporters
+ * against a local stand-in server, so that only the client side
+ * (body writing and response parsing) is measured.
+ *
+ * <p>Lives in the exporters package to reach the package-private
+ * {@link MultipartBody} used by the MCPacks exporter, whose upload
+ * URL is fixed.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ExportUploadBenchmark {
+
+    private static final byte[] POLYMATH_RESPONSE = ("{\"url\":\"http://127.0.0.1/pack.zip\","
+            + "\"sha1\":\"0000000000000000000000000000000000000000\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1048576", "16777216", "104857600"})
+    private int size;
+
+    private HttpServer server;
+    private URL uploadUrl;
+    private PolymathExporter polymath;
+    private ResourcePack resourcePack;
+    private BuiltResourcePack builtResourcePack;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final byte[] data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        builtResourcePack = BuiltResourcePack.of(Writable.bytes(data), "benchmark");
+        resourcePack = ResourcePack.resourcePack();
+
+        // stand-in for the Polymath and MCPacks upload endpoints,
+        // reads the full body and answers like Polymath does
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/upload", ExportUploadBenchmark::handle);
+        server.start();
+
+        final String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        uploadUrl = new URL(baseUrl + "/upload");
+        polymath = new PolymathExporter(baseUrl, "benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public ResourcePackLocation polymath() throws IOException {
+        return polymath.export(resourcePack, builtResourcePack);
+    }
+
+    @Benchmark
+    public int mcPacksBody() throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) uploadUrl.openConnection();
+        connection.setRequestMethod("POST");
+        new MultipartBody()
+                .file("file", "pack.zip", "application/zip", builtResourcePack.data())
+                .send(connection);
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.getInputStream().close();
+        }
+    }
+
+    private static void handle(final HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[8192];
+            //noinspection StatementWithEmptyBody
+            while (input.read(buffer) != -1) {
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, POLYMATH_RESPONSE.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(POLYMATH_RESPONSE);
+        }
+    }
+
+}
@@ -24,6 +24,7 @@
 package team.unnamed.creative.central.bukkit;
 
 import org.bstats.bukkit.Metrics;
+import org.bstats.charts.SimplePie;
 import org.bukkit.Bukkit;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.entity.Player;
@@ -32,9 +33,11 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.central.CreativeCentral;
 import team.unnamed.creative.central.CreativeCentralProvider;
+import team.unnamed.creative.central.bukkit.action.BukkitPlaceholderResolver;
 import team.unnamed.creative.central.bukkit.command.MainCommand;
 import team.unnamed.creative.central.bukkit.external.ExternalResourcePackProvider;
 import team.unnamed.creative.central.bukkit.external.ExternalResourcePackProviders;
@@ -46,17 +49,30 @@ import team.unnamed.creative.central.bukkit.util.PluginResources;
 import team.unnamed.creative.central.common.config.Configuration;
 import team.unnamed.creative.central.common.config.ExportConfiguration;
 import team.unnamed.creative.central.common.config.YamlConfigurationLoader;
+import team.unnamed.creative.central.common.export.CircuitBreaker;
+import team.unnamed.creative.central.common.export.CompositeExporter;
 import team.unnamed.creative.central.common.export.FolderExporter;
+import team.unnamed.creative.central.common.export.HttpTimeouts;
+import team.unnamed.creative.central.common.export.LocalHostExporter;
 import team.unnamed.creative.central.common.util.Components;
 import team.unnamed.creative.central.common.event.EventBusImpl;
 import team.unnamed.creative.central.common.event.EventExceptionHandler;
+import team.unnamed.creative.central.common.event.ResourcePackStatusBatcher;
 import team.unnamed.creative.central.common.export.ResourcePackExporterFactory;
+import team.unnamed.creative.central.common.export.RetryingExporter;
+import team.unnamed.creative.central.common.pack.BuiltResourcePackCache;
+import team.unnamed.creative.central.common.pack.CachingDirectoryReader;
+import team.unnamed.creative.central.common.pack.DeterministicResourcePackWriter;
 import team.unnamed.creative.central.common.server.CommonResourcePackServer;
+import team.unnamed.creative.central.common.server.DownloadLimiter;
+import team.unnamed.creative.central.common.server.RequestExecutors;
 import team.unnamed.creative.central.common.util.LocalAddressProvider;
 import team.unnamed.creative.central.common.util.Monitor;
 import team.unnamed.creative.central.common.util.Streams;
 import team.unnamed.creative.central.event.EventBus;
+import team.unnamed.creative.central.event.EventListener;
 import team.unnamed.creative.central.event.pack.ResourcePackGenerateEvent;
+import team.unnamed.creative.central.event.pack.ResourcePackStatusBatchEvent;
 import team.unnamed.creative.central.event.pack.ResourcePackStatusEvent;
 import team.unnamed.creative.central.export.ResourcePackExporter;
 import team.unnamed.creative.central.export.ResourcePackLocation;
@@ -71,9 +87,16 @@ import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
@@ -83,31 +106,59 @@ import static java.util.Objects.requireNonNull;
 public final class CreativeCentralPlugin extends JavaPlugin implements CreativeCentral {
 
     private ServeOptions serveOptions;
-    private EventBus eventBus;
+    private EventBusImpl<Plugin> eventBus;
+    private @Nullable ResourcePackStatusBatcher statusBatcher;
     private ResourcePackRequestSender requestSender;
-    private CentralResourcePackServer resourcePackServer;
+    private CommonResourcePackServer resourcePackServer;
 
     private Monitor<Configuration> configurationMonitor;
 
+    // reuses the parsed resources folder when no file changed
+    private final CachingDirectoryReader resourcesReader = new CachingDirectoryReader(MinecraftResourcePackReader.minecraft());
+
+    // the last successful export, used to skip exporting and re-sending
+    // a resource-pack that didn't change since then
+    private volatile @Nullable LastExport lastExport;
+
+    // the last export to a hosted location, used as fallback while
+    // the remote server is down
+    private volatile @Nullable LastExport lastHostedExport;
+    private final Map<String, CircuitBreaker> exportCircuitBreakers = new ConcurrentHashMap<>();
+
+    // the last exported resource-pack persisted to disk, used to
+    // serve and send the resource-pack right after a restart
+    private BuiltResourcePackCache builtResourcePackCache;
+    private volatile boolean lastGenerationUnchanged;
+
     @Override
     public void onEnable() {
         Configuration config = YamlConfigurationLoader.load(PluginResources.get(this, "config.yml"));
         this.configurationMonitor = Monitor.monitor(config);
 
-        new Metrics(this, 20718); // metrics (bstats.org)
+        Metrics metrics = new Metrics(this, 20718); // metrics (bstats.org)
 
         serveOptions = new ServeOptions();
         eventBus = new EventBusImpl<>(Plugin.class, EventExceptionHandler.logging(getLogger()));
         requestSender = BukkitResourcePackRequestSender.bukkit();
         resourcePackServer = new CommonResourcePackServer();
+        builtResourcePackCache = new BuiltResourcePackCache(new File(getDataFolder(), "cache"));
+        metrics.addCustomChart(new SimplePie("export_circuit_state", this::exportCircuitState));
+        metrics.addCustomChart(new SimplePie("download_compression_savings", this::downloadCompressionSavings));
 
         // load serve/send options
         serveOptions.serve(true);
         serveOptions.delay(config.send().delay());
 
+        // collect statuses and call them once per tick if enabled
+        statusBatcher = null;
+        if (config.send().batchStatusEvents()) {
+            statusBatcher = new ResourcePackStatusBatcher(eventBus);
+            Bukkit.getScheduler().runTaskTimer(this, statusBatcher::flush, 1L, 1L);
+        }
+
         // register event listeners
         listen(
-                new ResourcePackStatusListener(this),
+                new ResourcePackStatusListener(this, statusBatcher),
                 new ResourcePackSendListener(this)
         );
 
@@ -119,7 +170,18 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         command.setTabCompleter(mainCommandHandler);
 
         // load actions
-        eventBus.listen(this, ResourcePackStatusEvent.class, new CreativeResourcePackStatusListener(configurationMonitor));
+        CreativeResourcePackStatusListener feedbackListener = new CreativeResourcePackStatusListener(
+                configurationMonitor,
+                new BukkitPlaceholderResolver(() -> {
+                    LastExport export = lastExport;
+                    return export == null ? null : export.hash();
+                })
+        );
+        if (statusBatcher != null) {
+            eventBus.listen(this, ResourcePackStatusBatchEvent.class, EventListener.Priority.NORMAL, feedbackListener::onBatch);
+        } else {
+            eventBus.listen(this, ResourcePackStatusEvent.class, feedbackListener);
+        }
 
         // start resource pack server if enabled
         loadResourcePackServer();
@@ -127,6 +189,10 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         // register service providers
         registerService();
 
+        // serve and send the last exported resource-pack while
+        // the resource-pack is generated again
+        loadCachedResourcePack();
+
         // generate the resource-pack for the first time
         generateFirstLoad();
     }
@@ -135,6 +201,15 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         return configurationMonitor;
     }
 
+    @Override
+    public void reloadConfig() {
+        super.reloadConfig();
+        if (configurationMonitor != null) {
+            // notifies the listeners, e.g. to compile the feedback actions again
+            configurationMonitor.set(YamlConfigurationLoader.load(PluginResources.get(this, "config.yml")));
+        }
+    }
+
     private void registerService() {
         Bukkit.getServicesManager().register(CreativeCentral.class, this, this, ServicePriority.High);
         CreativeCentralProvider.set(this);
@@ -176,6 +251,17 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         }
 
         if (address != null) {
+            ExecutorService requestExecutor = RequestExecutors.create(config.executor(), getLogger());
+            DownloadLimiter limiter = DownloadLimiter.create(config.rateLimit());
+            if (limiter != null && requestExecutor == null) {
+                // the limiter blocks the request thread, it would stall every other download
+                getLogger().warning("Download rate limits require the 'virtual' or 'pool' executor,"
+                        + " ignoring 'export.localhost.rate-limit'");
+                limiter = null;
+            }
+            resourcePackServer.executor(requestExecutor);
+            resourcePackServer.limiter(limiter);
+            resourcePackServer.compression(config.compression());
             try {
                 resourcePackServer.open(address, publicAddress, port);
                 getLogger().info("Successfully started the resource-pack server, listening on port " + port);
@@ -185,8 +271,167 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         }
     }
 
+    private void loadCachedResourcePack() {
+        BuiltResourcePackCache.Entry cached;
+        try {
+            cached = builtResourcePackCache.load();
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "Failed to load the cached resource-pack, ignoring it", e);
+            return;
+        }
+
+        if (cached == null) {
+            return;
+        }
+
+        Configuration config = configurationMonitor.get();
+        String exportIdentity = config.export().identity();
+        if (!cached.exportedWith(exportIdentity)) {
+            // exported somewhere else, wait for the new export
+            return;
+        }
+
+        @Nullable ResourcePackLocation location = cached.location();
+        ResourcePackExporter exporter;
+        try {
+            exporter = createExporter(config);
+        } catch (IllegalArgumentException e) {
+            // invalid export type, will be reported when generating
+            return;
+        }
+        if (exporter instanceof LocalHostExporter localHostExporter) {
+            // the local server doesn't persist anything, serve it again
+            location = localHostExporter.serve(cached.pack());
+        } else if (resourcePackServer.isOpen()) {
+            // may be one of the targets of a composite exporter
+            resourcePackServer.resourcePack(cached.pack());
+        }
+
+        lastExport = new LastExport(exportIdentity, cached.pack().hash(), location);
+        if (location != null) {
+            lastHostedExport = lastExport;
+            getLogger().info("Using cached resource pack from " + location.uri() + " (" + location.hash() + ")"
+                    + " until the resource pack is generated again");
+            applyRequest(config, location);
+        }
+    }
+
+    private ResourcePackExporter createExporter(Configuration config) {
+        String exportType = config.export().type();
+        if (exportType.trim().equalsIgnoreCase("multiple")) {
+            ExportConfiguration.MultipleExportConfiguration multiple = config.export().multiple();
+            return ResourcePackExporterFactory.createComposite(
+                    multiple.targets(),
+                    CompositeExporter.Policy.parse(multiple.policy()),
+                    task -> Bukkit.getScheduler().runTaskAsynchronously(this, task),
+                    target -> createTargetExporter(config, target, null),
+                    getLogger()
+            );
+        }
+
+        LastExport fallback = lastHostedExport;
+        return createTargetExporter(
+                config,
+                exportType,
+                fallback != null && fallback.exporter().equals(config.export().identity()) ? fallback.location() : null
+        );
+    }
+
+    private ResourcePackExporter createTargetExporter(
+            Configuration config,
+            String exportType,
+            @Nullable ResourcePackLocation fallback
+    ) {
+        ExportConfiguration.HttpConfiguration http = config.export().http();
+        ResourcePackExporter exporter = ResourcePackExporterFactory.create(
+                exportType,
+                getDataFolder(),
+                resourcePackServer,
+                getLogger(),
+                HttpTimeouts.seconds(http.connectTimeout(), http.readTimeout(), http.totalTimeout())
+        );
+
+        if (exporter instanceof LocalHostExporter) {
+            // not remote, nothing to retry
+            return exporter;
+        }
+
+        ExportConfiguration.RetryConfiguration retry = config.export().retry();
+        return new RetryingExporter(
+                exporter,
+                retry,
+                exportCircuitBreakers.computeIfAbsent(exportType, key -> new CircuitBreaker(
+                        retry.failureThreshold(),
+                        retry.openDuration() * 1000L
+                )),
+                fallback,
+                getLogger()
+        );
+    }
+
+    private String exportCircuitState() {
+        // the worst state among all the remote targets
+        CircuitBreaker.State worst = CircuitBreaker.State.CLOSED;
+        for (CircuitBreaker breaker : exportCircuitBreakers.values()) {
+            CircuitBreaker.State state = breaker.state();
+            if (state == CircuitBreaker.State.OPEN) {
+                worst = state;
+                break;
+            } else if (state == CircuitBreaker.State.HALF_OPEN) {
+                worst = state;
+            }
+        }
+        return worst.name().toLowerCase(Locale.ROOT);
+    }
+
+    private String downloadCompressionSavings() {
+        // average bytes saved per compressed download, in buckets
+        CommonResourcePackServer server = resourcePackServer;
+        long downloads = server == null ? 0L : server.compressedDownloads();
+        if (downloads == 0L) {
+            return "none";
+        }
+        long saved = server.savedBytes() / downloads;
+        if (saved < 100_000L) {
+            return "< 100 KB";
+        } else if (saved < 1_000_000L) {
+            return "100 KB - 1 MB";
+        } else if (saved < 10_000_000L) {
+            return "1 MB - 10 MB";
+        } else {
+            return ">= 10 MB";
+        }
+    }
+
+    private void applyRequest(Configuration config, ResourcePackLocation location) {
+        ResourcePackRequest request = createRequest(config, location.uri(), location.hash());
+        if (location.mirrors().isEmpty()) {
+            serveOptions.request(request);
+            return;
+        }
+
+        // spread the players between all the locations, always
+        // giving the same location to the same player
+        List<ResourcePackRequest> requests = new ArrayList<>(location.mirrors().size() + 1);
+        requests.add(request);
+        for (URI mirror : location.mirrors()) {
+            requests.add(createRequest(config, mirror, location.hash()));
+        }
+        serveOptions.request(request, playerId -> requests.get(Math.floorMod(playerId.hashCode(), requests.size())));
+    }
+
+    private ResourcePackRequest createRequest(Configuration config, URI uri, String hash) {
+        return ResourcePackRequest.of(
+                uri,
+                hash,
+                config.send().request().required(),
+                Components.deserialize(config.send().request().prompt())
+        );
+    }
+
     private void generateFirstLoad() {
         final var allProviders = ExternalResourcePackProviders.get();
+        final var enabledProviders = new ArrayList<ExternalResourcePackProvider>(allProviders.length);
         final var awaitingProviders = new ArrayList<ExternalResourcePackProvider>(allProviders.length);
 
         for (final var provider : allProviders) {
@@ -196,23 +441,17 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
 
             getLogger().info("Found " + provider.pluginName() + ", registering as an external resource pack provider...");
 
-            final AtomicBoolean generateCalledByChangeOnThisProvider = new AtomicBoolean(false);
-
-            eventBus.listen(this, ResourcePackGenerateEvent.class, event -> {
-                final var externalResourcePack = provider.load();
-                if (externalResourcePack != null) {
-                    getLogger().info("Merging resource pack from external provider: " + provider.pluginName());
-                    event.resourcePack().merge(externalResourcePack, MergeStrategy.mergeAndKeepFirstOnError());
-                } else {
-                    getLogger().warning("Couldn't load resource pack from external provider: " + provider.pluginName() + ": Not found");
-                }
-            });
+            enabledProviders.add(provider);
 
             if (provider.awaitOnStart()) {
                 awaitingProviders.add(provider);
             }
         }
 
+        if (!enabledProviders.isEmpty()) {
+            eventBus.listen(this, ResourcePackGenerateEvent.class, event -> mergeExternalResourcePacks(enabledProviders, event.resourcePack()));
+        }
+
         if (awaitingProviders.isEmpty()) {
             // do not wait for anything
             Bukkit.getScheduler().runTaskLater(this, () -> {
@@ -259,6 +498,43 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         }
     }
 
+    private void mergeExternalResourcePacks(final List<ExternalResourcePackProvider> providers, final ResourcePack resourcePack) {
+        // load all the external resource-packs at the same time...
+        final var executor = Executors.newFixedThreadPool(providers.size(), task -> {
+            final var thread = new Thread(task, "creative-central-external-pack-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var loads = new ArrayList<CompletableFuture<ResourcePack>>(providers.size());
+        try {
+            for (final var provider : providers) {
+                loads.add(CompletableFuture.supplyAsync(provider::load, executor));
+            }
+
+            // ...but merge them in a fixed order, so that conflicts are
+            // always resolved the same way
+            for (int i = 0; i < providers.size(); i++) {
+                final var provider = providers.get(i);
+                final ResourcePack externalResourcePack;
+                try {
+                    externalResourcePack = loads.get(i).join();
+                } catch (final CompletionException e) {
+                    getLogger().log(Level.SEVERE, "Couldn't load resource pack from external provider: " + provider.pluginName(), e.getCause());
+                    continue;
+                }
+
+                if (externalResourcePack != null) {
+                    getLogger().info("Merging resource pack from external provider: " + provider.pluginName());
+                    resourcePack.merge(externalResourcePack, MergeStrategy.mergeAndKeepFirstOnError());
+                } else {
+                    getLogger().warning("Couldn't load resource pack from external provider: " + provider.pluginName() + ": Not found");
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     public ResourcePack generateSync() {
         if (eventBus == null) {
             throw new IllegalStateException("Unexpected status, event bus was null when trying to" +
@@ -286,7 +562,7 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         }
 
         ResourcePack resourcePack = resourcesFolder.exists()
-                ? MinecraftResourcePackReader.minecraft().readFromDirectory(resourcesFolder)
+                ? resourcesReader.read(resourcesFolder)
                 : ResourcePack.resourcePack();
 
         // process the pack meta
@@ -306,48 +582,97 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         eventBus.call(ResourcePackGenerateEvent.class, new ResourcePackGenerateEvent(resourcePack));
         getLogger().info("The resource pack has been generated successfully");
 
+        // build (serialize and hash) the resource-pack only once, every
+        // exporter and the local server will use this same artifact
+        BuiltResourcePack builtResourcePack = DeterministicResourcePackWriter.build(resourcePack);
+
+        // every setting that affects where the resource-pack is exported
+        String exportIdentity = config.export().identity();
+        LastExport previousExport = lastExport;
+        boolean unchanged = previousExport != null
+                && previousExport.exporter().equals(exportIdentity)
+                && previousExport.hash().equals(builtResourcePack.hash());
+        lastGenerationUnchanged = unchanged;
+
         // export resource-pack
         @Nullable ResourcePackLocation location = null;
-        {
+        if (unchanged) {
+            // same zip as the last time, it is already exported and players
+            // already have it, no need to upload it or send it again
+            getLogger().info("The resource pack didn't change (" + builtResourcePack.hash()
+                    + "), skipping export");
+            location = previousExport.location();
+        } else {
             getLogger().info("Exporting resource pack...");
-            String exportType = config.export().type();
-            ResourcePackExporter exporter = ResourcePackExporterFactory.create(exportType, getDataFolder(), resourcePackServer, getLogger());
+            ResourcePackExporter exporter = createExporter(config);
 
+            lastExport = null;
             try {
-                location = exporter.export(resourcePack);
+                location = exporter.export(resourcePack, builtResourcePack);
+                // a different hash means that the export failed and the
+                // last hosted resource-pack is used instead, it must be
+                // exported again in the next generation
+                if (location == null || location.hash().equalsIgnoreCase(builtResourcePack.hash())) {
+                    lastExport = new LastExport(exportIdentity, builtResourcePack.hash(), location);
+                    if (location != null) {
+                        lastHostedExport = lastExport;
+                    }
+                }
             } catch (IOException e) {
                 getLogger().log(Level.SEVERE, "Failed to export resource pack", e);
             }
 
+            if (lastExport != null) {
+                try {
+                    builtResourcePackCache.save(exportIdentity, builtResourcePack, location);
+                } catch (IOException e) {
+                    getLogger().log(Level.WARNING, "Failed to cache the exported resource pack", e);
+                }
+            }
+
             //GoodestEnglish start - Output the resource pack to somewhere we can view after the resource pack is uploaded to external server
+            // written from the resource-pack itself, extracting the built zip again would cost more
             new FolderExporter(new File(getDataFolder(), "output"), getLogger()).export(resourcePack);
             //GoodestEnglish end
         }
 
+        // false if the exporter fell back to a previously exported resource-pack
+        boolean exported = location != null && !unchanged && location.hash().equalsIgnoreCase(builtResourcePack.hash());
+
         if (location != null) {
-            getLogger().info("Exported resource pack to " + location.uri() + " (" + location.hash() + ")");
-            serveOptions.request(ResourcePackRequest.of(
-                    location.uri(),
-                    location.hash(),
-                    config.send().request().required(),
-                    Components.deserialize(config.send().request().prompt())
-            ));
+            if (exported) {
+                getLogger().info("Exported resource pack to " + location.uri() + " (" + location.hash() + ")");
+            }
+            // the request is always re-created, the prompt or the
+            // required flag may have changed in the configuration
+            applyRequest(config, location);
         } else {
             serveOptions.request(null);
             getLogger().warning("Resource-pack has not been exported to a hosted server, the"
                     + " resource-pack will not be automatically sent to players.");
         }
 
-        if (location != null) {
+        if (exported) {
             // apply the resource-pack to online players
             for (Player player : Bukkit.getOnlinePlayers()) {
-                requestSender.send(player, serveOptions.request());
+                requestSender.send(player, serveOptions.request(player.getUniqueId()));
             }
         }
 
         return resourcePack;
     }
 
+    /**
+     * Determines whether the last resource-pack generation produced
+     * the same resource-pack as the previous one, in which case it
+     * was not exported nor sent to online players again.
+     *
+     * @return True if the last generation was a no-op
+     */
+    public boolean lastGenerationUnchanged() {
+        return lastGenerationUnchanged;
+    }
+
     @Override
     public CompletableFuture<ResourcePack> generate() {
         if (eventBus == null) {
@@ -363,7 +688,16 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
 
     @Override
     public void onDisable() {
-        eventBus = null;
+        if (statusBatcher != null) {
+            // call the statuses received since the last tick
+            statusBatcher.flush();
+            statusBatcher = null;
+        }
+        if (eventBus != null) {
+            // shuts down the threads of the asynchronous listeners
+            eventBus.close();
+            eventBus = null;
+        }
         requestSender = null;
         serveOptions = null;
 
@@ -405,4 +739,8 @@ public final class CreativeCentralPlugin extends JavaPlugin implements CreativeC
         return eventBus;
     }
 
+    // exporter is the export identity, see ExportConfiguration#identity()
+    private record LastExport(String exporter, String hash, @Nullable ResourcePackLocation location) {
+    }
+
 }
\ No newline at end of file
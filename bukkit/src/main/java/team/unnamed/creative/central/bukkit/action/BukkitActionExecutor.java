@@ -30,9 +30,17 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import team.unnamed.creative.central.common.action.Action;
 import team.unnamed.creative.central.common.action.ActionExecutor;
+import team.unnamed.creative.central.common.action.CompiledAction;
 import team.unnamed.creative.central.common.action.KickAction;
 import team.unnamed.creative.central.common.action.MessageAction;
+import team.unnamed.creative.central.common.action.PlaceholderResolver;
+import team.unnamed.creative.central.common.action.TemplateRenderer;
 import team.unnamed.creative.central.common.action.TitleAction;
+import team.unnamed.creative.central.common.util.ComponentTemplate;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public final class BukkitActionExecutor implements ActionExecutor<Player> {
     private static final ActionExecutor<Player> INSTANCE = new BukkitActionExecutor();
@@ -49,38 +57,57 @@ public final class BukkitActionExecutor implements ActionExecutor<Player> {
         ARE_TITLE_TIMES_AVAILABLE = areTitleTimesAvailable;
     }
 
+    // actions compiled by execute(), actions don't override equals, so they
+    // are keyed by identity, and dropped once the configuration is reloaded
+    private final Map<Action, CompiledAction<Player>> compiledActions = Collections.synchronizedMap(new WeakHashMap<>());
+
     private BukkitActionExecutor() {
     }
 
     @Override
-    @SuppressWarnings({"deprecation", "UsagesOfObsoleteApi"}) // Spigot!
     public void execute(Action action, Player player) {
-        if (action instanceof MessageAction) {
-            player.sendMessage(toLegacy(((MessageAction) action).message()));
-        } else if (action instanceof TitleAction) {
-            final Title title = ((TitleAction) action).title();
-            final Title.Times times = title.times();
+        compiledActions.computeIfAbsent(action, this::compile).execute(player);
+    }
+
+    @Override
+    public CompiledAction<Player> compile(Action action) {
+        return compile(action, PlaceholderResolver.none());
+    }
+
+    @Override
+    @SuppressWarnings({"deprecation", "UsagesOfObsoleteApi"}) // Spigot!
+    public CompiledAction<Player> compile(Action action, PlaceholderResolver<Player> placeholders) {
+        // serialize to legacy strings once (or once per player if
+        // there are placeholders), not every time the action runs
+        if (action instanceof MessageAction messageAction) {
+            final TemplateRenderer<Player, String> message = legacy(messageAction.messageTemplate(), placeholders);
+            return player -> player.sendMessage(message.render(player));
+        } else if (action instanceof TitleAction titleAction) {
+            final TemplateRenderer<Player, String> title = legacy(titleAction.titleTemplate(), placeholders);
+            final TemplateRenderer<Player, String> subtitle = legacy(titleAction.subtitleTemplate(), placeholders);
+            final Title.Times times = titleAction.title().times();
             if (times == null || !ARE_TITLE_TIMES_AVAILABLE) {
-                player.sendTitle(
-                        toLegacy(title.title()),
-                        toLegacy(title.subtitle())
-                );
-            } else {
-                player.sendTitle(
-                        toLegacy(title.title()),
-                        toLegacy(title.subtitle()),
-                        (int) times.fadeIn().getSeconds() * 20,
-                        (int) times.stay().getSeconds() * 20,
-                        (int) times.fadeOut().getSeconds() * 20
-                );
+                return player -> player.sendTitle(title.render(player), subtitle.render(player));
             }
+            final int fadeIn = (int) (times.fadeIn().toMillis() / 50);
+            final int stay = (int) (times.stay().toMillis() / 50);
+            final int fadeOut = (int) (times.fadeOut().toMillis() / 50);
+            return player -> player.sendTitle(title.render(player), subtitle.render(player), fadeIn, stay, fadeOut);
         } else if (action instanceof KickAction kickAction) {
-            player.kickPlayer(toLegacy(kickAction.reason()));
+            final TemplateRenderer<Player, String> reason = legacy(kickAction.reasonTemplate(), placeholders);
+            return player -> player.kickPlayer(reason.render(player));
         } else {
             throw new IllegalArgumentException("Unknown action type: '" + action + "'");
         }
     }
 
+    private static @NotNull TemplateRenderer<Player, String> legacy(
+            final @NotNull ComponentTemplate template,
+            final @NotNull PlaceholderResolver<Player> placeholders
+    ) {
+        return new TemplateRenderer<>(template, placeholders, BukkitActionExecutor::toLegacy);
+    }
+
     private static @NotNull String toLegacy(final @NotNull Component component) {
         return LegacyComponentSerializer.legacySection().serialize(component);
     }
@@ -0,0 +1,62 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.bukkit.action;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.central.common.action.PlaceholderResolver;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves the action placeholders for Bukkit players, the pack
+ * hash supplier may return null if no resource-pack was exported.
+ */
+public final class BukkitPlaceholderResolver implements PlaceholderResolver<Player> {
+
+    private final Supplier<String> packHash;
+
+    public BukkitPlaceholderResolver(final @NotNull Supplier<String> packHash) {
+        this.packHash = requireNonNull(packHash, "packHash");
+    }
+
+    @Override
+    public @NotNull Object key(final @NotNull Player player) {
+        return player.getUniqueId();
+    }
+
+    @Override
+    public @Nullable String resolve(final @NotNull String placeholder, final @NotNull Player player) {
+        return switch (placeholder) {
+            case PLAYER -> player.getName();
+            case UUID -> player.getUniqueId().toString();
+            case PACK_HASH -> packHash.get();
+            default -> null;
+        };
+    }
+
+}
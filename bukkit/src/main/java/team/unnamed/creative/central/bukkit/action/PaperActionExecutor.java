@@ -28,7 +28,12 @@ import org.bukkit.entity.Player;
 import team.unnamed.creative.central.common.action.Action;
 import team.unnamed.creative.central.common.action.ActionExecutor;
 import team.unnamed.creative.central.common.action.AudienceActionExecutor;
+import team.unnamed.creative.central.common.action.CompiledAction;
 import team.unnamed.creative.central.common.action.KickAction;
+import team.unnamed.creative.central.common.action.PlaceholderResolver;
+import team.unnamed.creative.central.common.action.TemplateRenderer;
+
+import java.util.function.Function;
 
 public final class PaperActionExecutor extends AudienceActionExecutor<Player> {
     private static final ActionExecutor<Player> INSTANCE = new PaperActionExecutor();
@@ -36,6 +41,15 @@ public final class PaperActionExecutor extends AudienceActionExecutor<Player> {
     private PaperActionExecutor() {
     }
 
+    @Override
+    protected CompiledAction<Player> compileAction(Action action, PlaceholderResolver<Player> placeholders) {
+        if (action instanceof KickAction kickAction) {
+            TemplateRenderer<Player, Component> reason = new TemplateRenderer<>(kickAction.reasonTemplate(), placeholders, Function.identity());
+            return player -> player.kick(reason.render(player));
+        }
+        return super.compileAction(action, placeholders);
+    }
+
     @Override
     protected void executeAction(Action action, Player player) {
         if (action instanceof KickAction kickAction) {
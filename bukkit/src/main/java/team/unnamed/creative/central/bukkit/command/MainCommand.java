@@ -78,8 +78,14 @@ public class MainCommand implements CommandExecutor, TabCompleter {
 
                 central.reloadConfig();
                 messageCache.clear();
-                central.generate().thenAccept(resourcePack ->
-                    send(sender, "command.feedback.reload"));
+                central.generate().thenAccept(resourcePack -> {
+                    if (central.lastGenerationUnchanged()) {
+                        // nothing changed, nothing was exported or re-sent
+                        send(sender, "command.feedback.reload-no-op");
+                    } else {
+                        send(sender, "command.feedback.reload");
+                    }
+                });
             }
 
             case "apply" -> {
@@ -148,7 +154,8 @@ public class MainCommand implements CommandExecutor, TabCompleter {
 
                 // send
                 for (Player target : targets) {
-                    central.requestSender().send(target, request);
+                    ResourcePackRequest targetRequest = central.serveOptions().request(target.getUniqueId());
+                    central.requestSender().send(target, targetRequest == null ? request : targetRequest);
                 }
                 send(sender, "command.feedback.apply");
             }
@@ -76,6 +76,10 @@ public interface ExternalResourcePackProvider {
     /**
      * Loads the resource-pack. Null if not found.
      *
+     * <p>Implementations may return a cached resource-pack if it didn't
+     * change since the last call, so the returned resource-pack must not
+     * be modified.</p>
+     *
      * @return The resource-pack. Null if not found.
      */
     @Nullable ResourcePack load();
@@ -31,13 +31,14 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
-import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
 
 import java.io.File;
 
 import static java.util.Objects.requireNonNull;
 
 public final class ItemsAdderResourcePackProvider implements ExternalResourcePackProvider {
+    private final ZipResourcePackCache cache = new ZipResourcePackCache();
+
     @Override
     public @NotNull String pluginName() {
         return "ItemsAdder";
@@ -50,6 +51,7 @@ public final class ItemsAdderResourcePackProvider implements ExternalResourcePac
         Bukkit.getPluginManager().registerEvents(new Listener() {
             @EventHandler
             public void onPackCompressed(final ItemsAdderPackCompressedEvent event) {
+                cache.invalidate();
                 changeListener.run();
             }
         }, plugin);
@@ -62,9 +64,6 @@ public final class ItemsAdderResourcePackProvider implements ExternalResourcePac
             return null;
         }
         final var resourcePackZipFile =  new File(itemsAdderPlugin.getDataFolder(), "output/generated.zip");
-        if (!resourcePackZipFile.exists()) {
-            return null;
-        }
-        return MinecraftResourcePackReader.minecraft().readFromZipFile(resourcePackZipFile);
+        return cache.load(resourcePackZipFile);
     }
 }
@@ -31,7 +31,6 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
-import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
 
 import java.io.File;
 import java.lang.reflect.Method;
@@ -39,6 +38,8 @@ import java.lang.reflect.Method;
 import static java.util.Objects.requireNonNull;
 
 public final class ModelEngineResourcePackProvider implements ExternalResourcePackProvider {
+    private final ZipResourcePackCache cache = new ZipResourcePackCache();
+
     @Override
     public @NotNull String pluginName() {
         return "ModelEngine";
@@ -78,6 +79,7 @@ public final class ModelEngineResourcePackProvider implements ExternalResourcePa
 
                 // It's FINISHED for ME4, and FINAL for ME3
                 if (phaseName.equals("FINISHED") || phaseName.equals("FINAL")) {
+                    cache.invalidate();
                     changeListener.run();
                 }
             }
@@ -93,9 +95,6 @@ public final class ModelEngineResourcePackProvider implements ExternalResourcePa
         }
 
         final var resourcePackZipFile = new File(modelEngine.getDataFolder(), "resource pack.zip");
-        if (!resourcePackZipFile.exists()) {
-            return null;
-        }
-        return MinecraftResourcePackReader.minecraft().readFromZipFile(resourcePackZipFile);
+        return cache.load(resourcePackZipFile);
     }
 }
@@ -32,11 +32,12 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
-import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
 
 import static java.util.Objects.requireNonNull;
 
 public final class OraxenResourcePackProvider implements ExternalResourcePackProvider {
+    private final ZipResourcePackCache cache = new ZipResourcePackCache();
+
     @Override
     public @NotNull String pluginName() {
         return "Oraxen";
@@ -55,6 +56,7 @@ public final class OraxenResourcePackProvider implements ExternalResourcePackPro
         plugin.getServer().getPluginManager().registerEvents(new Listener() {
             @EventHandler
             public void onGenerated(final @NotNull OraxenPackPreUploadEvent event) {
+                cache.invalidate();
                 changeListener.run();
             }
         }, plugin);
@@ -62,10 +64,6 @@ public final class OraxenResourcePackProvider implements ExternalResourcePackPro
 
     @Override
     public @Nullable ResourcePack load() {
-        final var oraxenPack = OraxenPack.getPack();
-        if (!oraxenPack.exists()) {
-            return null;
-        }
-        return MinecraftResourcePackReader.minecraft().readFromZipFile(oraxenPack);
+        return cache.load(OraxenPack.getPack());
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.bukkit.external;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the resource-pack parsed from an external provider zip file,
+ * so that it is only parsed again when the zip file actually changes.
+ *
+ * <p>The cache is keyed by the zip file size, last modification time
+ * and content (SHA-1) hash. The hash is only computed when the size or
+ * modification time changed, or after {@link #invalidate()} was called
+ * (i.e. when the provider notified a change), so that rewriting the zip
+ * with the same contents does not cause it to be parsed again.</p>
+ */
+final class ZipResourcePackCache {
+
+    private @Nullable File file;
+    private long size;
+    private long lastModified;
+    private byte @Nullable [] hash;
+    private @Nullable ResourcePack resourcePack;
+    private boolean dirty;
+
+    /**
+     * Loads the resource-pack from the given zip file, or returns the
+     * cached resource-pack if the file didn't change.
+     *
+     * <p>The returned resource-pack is shared, it must not be modified.</p>
+     *
+     * @param zipFile The resource-pack zip file
+     * @return The resource-pack, null if the file does not exist
+     */
+    synchronized @Nullable ResourcePack load(final @NotNull File zipFile) {
+        requireNonNull(zipFile, "zipFile");
+        if (!zipFile.exists()) {
+            clear();
+            return null;
+        }
+
+        final var size = zipFile.length();
+        final var lastModified = zipFile.lastModified();
+        final var sameFile = resourcePack != null && zipFile.equals(file);
+
+        if (sameFile && !dirty && size == this.size && lastModified == this.lastModified) {
+            // nothing changed
+            return resourcePack;
+        }
+
+        final var hash = hash(zipFile);
+        this.size = size;
+        this.lastModified = lastModified;
+        this.dirty = false;
+
+        if (sameFile && Arrays.equals(hash, this.hash)) {
+            // rewritten, but same contents
+            return resourcePack;
+        }
+
+        this.file = zipFile;
+        this.hash = hash;
+        this.resourcePack = MinecraftResourcePackReader.minecraft().readFromZipFile(zipFile);
+        return resourcePack;
+    }
+
+    /**
+     * Marks the cached resource-pack as possibly outdated, the next
+     * {@link #load(File)} call will check the zip file contents.
+     */
+    synchronized void invalidate() {
+        dirty = true;
+    }
+
+    private void clear() {
+        file = null;
+        hash = null;
+        resourcePack = null;
+        dirty = false;
+    }
+
+    private static byte @NotNull [] hash(final @NotNull File file) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot find SHA-1 algorithm", e);
+        }
+
+        try (final InputStream input = Files.newInputStream(file.toPath())) {
+            final var buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to hash resource-pack file: " + file, e);
+        }
+        return digest.digest();
+    }
+
+}
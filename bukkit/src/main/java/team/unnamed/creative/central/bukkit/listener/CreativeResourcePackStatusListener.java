@@ -26,37 +26,43 @@ package team.unnamed.creative.central.bukkit.listener;
 import org.bukkit.entity.Player;
 import team.unnamed.creative.central.bukkit.action.BukkitActionExecutor;
 import team.unnamed.creative.central.bukkit.action.PaperActionExecutor;
-import team.unnamed.creative.central.common.action.Action;
 import team.unnamed.creative.central.common.action.ActionExecutor;
+import team.unnamed.creative.central.common.action.FeedbackPlan;
+import team.unnamed.creative.central.common.action.PlaceholderResolver;
 import team.unnamed.creative.central.common.config.Configuration;
 import team.unnamed.creative.central.common.util.Monitor;
 import team.unnamed.creative.central.event.EventListener;
+import team.unnamed.creative.central.event.pack.ResourcePackStatusBatchEvent;
 import team.unnamed.creative.central.event.pack.ResourcePackStatusEvent;
-import team.unnamed.creative.central.pack.ResourcePackStatus;
-
-import java.util.Collections;
-import java.util.List;
 
 public class CreativeResourcePackStatusListener implements EventListener<ResourcePackStatusEvent> {
 
-    private final Monitor<Configuration> config;
     private final ActionExecutor<Player> actionExecutor;
 
-    public CreativeResourcePackStatusListener(Monitor<Configuration> config) {
-        this.config = config;
+    // the feedback actions, compiled again when the configuration changes
+    private volatile FeedbackPlan<Player> feedback;
+
+    public CreativeResourcePackStatusListener(Monitor<Configuration> config, PlaceholderResolver<Player> placeholders) {
         this.actionExecutor = PaperActionExecutor.isAvailable()
                 ? PaperActionExecutor.paper()
                 : BukkitActionExecutor.bukkit();
+        this.feedback = FeedbackPlan.compile(config.get().feedback(), actionExecutor, placeholders);
+        config.onChange((oldValue, newValue) -> this.feedback = FeedbackPlan.compile(newValue.feedback(), actionExecutor, placeholders));
+    }
+
+    public CreativeResourcePackStatusListener(Monitor<Configuration> config) {
+        this(config, PlaceholderResolver.none());
     }
 
     @Override
     public void on(ResourcePackStatusEvent event) {
-        ResourcePackStatus status = event.status();
-        Player player = (Player) event.player();
+        feedback.execute(event.status(), (Player) event.player());
+    }
 
-        List<Action> actions = config.get().feedback().getOrDefault(status, Collections.emptyList());
-        for (Action action : actions) {
-            actionExecutor.execute(action, player);
+    public void onBatch(ResourcePackStatusBatchEvent batch) {
+        FeedbackPlan<Player> feedback = this.feedback;
+        for (int i = 0; i < batch.size(); i++) {
+            feedback.execute(batch.status(i), (Player) batch.player(i));
         }
     }
 
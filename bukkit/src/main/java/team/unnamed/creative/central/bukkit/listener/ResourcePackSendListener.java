@@ -49,7 +49,7 @@ public class ResourcePackSendListener implements Listener {
         }
 
         Player player = event.getPlayer();
-        ResourcePackRequest request = options.request();
+        ResourcePackRequest request = options.request(player.getUniqueId());
         if (request == null) {
             // todo: should we kick the player?
             return;
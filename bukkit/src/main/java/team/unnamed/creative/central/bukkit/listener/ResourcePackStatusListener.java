@@ -27,16 +27,24 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerResourcePackStatusEvent;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.central.CreativeCentral;
+import team.unnamed.creative.central.common.event.ResourcePackStatusBatcher;
 import team.unnamed.creative.central.event.pack.ResourcePackStatusEvent;
 import team.unnamed.creative.central.pack.ResourcePackStatus;
 
 public class ResourcePackStatusListener implements Listener {
 
     private final CreativeCentral central;
+    private final @Nullable ResourcePackStatusBatcher batcher;
 
-    public ResourcePackStatusListener(CreativeCentral central) {
+    public ResourcePackStatusListener(CreativeCentral central, @Nullable ResourcePackStatusBatcher batcher) {
         this.central = central;
+        this.batcher = batcher;
+    }
+
+    public ResourcePackStatusListener(CreativeCentral central) {
+        this(central, null);
     }
 
     @EventHandler
@@ -55,7 +63,14 @@ public class ResourcePackStatusListener implements Listener {
             case DISCARDED -> ResourcePackStatus.DISCARDED;
         };
 
-        central.eventBus().call(ResourcePackStatusEvent.class, new ResourcePackStatusEvent(player, status));
+        if (batcher != null) {
+            // called with the other statuses received in this tick
+            batcher.add(player, status);
+            return;
+        }
+
+        // async listeners (e.g. database writes) must not block the main thread
+        central.eventBus().callAsync(ResourcePackStatusEvent.class, new ResourcePackStatusEvent(player, status));
     }
 
 }
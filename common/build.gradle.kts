@@ -10,4 +10,6 @@ dependencies {
     // -- provided by server or plugin implementations --
     compileOnly(libs.adventure.text.minimessage)
     compileOnly("org.yaml:snakeyaml:2.2")
+
+    testImplementation(libs.adventure.text.minimessage)
 }
\ No newline at end of file
@@ -27,4 +27,29 @@ public interface ActionExecutor<T> {
 
     void execute(Action action, T target);
 
+    /**
+     * Prepares the given action to be executed on many targets,
+     * implementations should do all the target-independent work
+     * here, once.
+     *
+     * @param action The action to compile
+     * @return The compiled action
+     */
+    default CompiledAction<T> compile(Action action) {
+        return target -> execute(action, target);
+    }
+
+    /**
+     * Prepares the given action to be executed on many targets,
+     * filling its placeholders for each target using the given
+     * resolver.
+     *
+     * @param action The action to compile
+     * @param placeholders The placeholder resolver
+     * @return The compiled action
+     */
+    default CompiledAction<T> compile(Action action, PlaceholderResolver<T> placeholders) {
+        return compile(action);
+    }
+
 }
\ No newline at end of file
@@ -24,6 +24,10 @@
 package team.unnamed.creative.central.common.action;
 
 import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+
+import java.util.function.Function;
 
 public abstract class AudienceActionExecutor<T extends Audience> implements ActionExecutor<T> {
 
@@ -38,6 +42,47 @@ public abstract class AudienceActionExecutor<T extends Audience> implements Acti
         }
     }
 
+    @Override
+    public final CompiledAction<T> compile(Action action) {
+        return compile(action, PlaceholderResolver.none());
+    }
+
+    @Override
+    public final CompiledAction<T> compile(Action action, PlaceholderResolver<T> placeholders) {
+        if (action instanceof MessageAction) {
+            TemplateRenderer<T, Component> message = new TemplateRenderer<>(
+                    ((MessageAction) action).messageTemplate(),
+                    placeholders,
+                    Function.identity()
+            );
+            return target -> target.sendMessage(message.render(target));
+        } else if (action instanceof TitleAction) {
+            TitleAction titleAction = (TitleAction) action;
+            if (titleAction.titleTemplate().isStatic() && titleAction.subtitleTemplate().isStatic()) {
+                Title title = titleAction.title();
+                return target -> target.showTitle(title);
+            }
+            TemplateRenderer<T, Component> title = new TemplateRenderer<>(titleAction.titleTemplate(), placeholders, Function.identity());
+            TemplateRenderer<T, Component> subtitle = new TemplateRenderer<>(titleAction.subtitleTemplate(), placeholders, Function.identity());
+            Title.Times times = titleAction.title().times();
+            return target -> target.showTitle(Title.title(title.render(target), subtitle.render(target), times));
+        } else {
+            return compileAction(action, placeholders);
+        }
+    }
+
+    /**
+     * Compiles a platform specific action, by default, the action
+     * is executed using {@link #executeAction}.
+     *
+     * @param action The action to compile
+     * @param placeholders The placeholder resolver
+     * @return The compiled action
+     */
+    protected CompiledAction<T> compileAction(Action action, PlaceholderResolver<T> placeholders) {
+        return target -> executeAction(action, target);
+    }
+
     protected abstract void executeAction(Action action, T target);
 
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.action;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.central.pack.ResourcePackStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The feedback actions for every resource-pack status, compiled
+ * once (when the configuration is loaded) for a specific platform.
+ *
+ * @param <T> The target type
+ */
+public final class FeedbackPlan<T> {
+
+    private final Map<ResourcePackStatus, List<CompiledAction<T>>> actionsByStatus;
+
+    private FeedbackPlan(final @NotNull Map<ResourcePackStatus, List<CompiledAction<T>>> actionsByStatus) {
+        this.actionsByStatus = actionsByStatus;
+    }
+
+    /**
+     * Executes the actions for the given status on the given
+     * target, if any.
+     *
+     * @param status The resource-pack status
+     * @param target The target
+     */
+    public void execute(final @NotNull ResourcePackStatus status, final @NotNull T target) {
+        final List<CompiledAction<T>> actions = actionsByStatus.get(status);
+        if (actions == null) {
+            return;
+        }
+        for (final CompiledAction<T> action : actions) {
+            action.execute(target);
+        }
+    }
+
+    /**
+     * Compiles the given feedback actions using the given executor.
+     *
+     * @param feedback The feedback actions, by status
+     * @param executor The platform action executor
+     * @param <T> The target type
+     * @return The compiled feedback plan
+     */
+    public static <T> @NotNull FeedbackPlan<T> compile(
+            final @NotNull Map<ResourcePackStatus, List<Action>> feedback,
+            final @NotNull ActionExecutor<T> executor
+    ) {
+        return compile(feedback, executor, PlaceholderResolver.none());
+    }
+
+    /**
+     * Compiles the given feedback actions using the given executor,
+     * filling the action placeholders using the given resolver.
+     *
+     * @param feedback The feedback actions, by status
+     * @param executor The platform action executor
+     * @param placeholders The placeholder resolver
+     * @param <T> The target type
+     * @return The compiled feedback plan
+     */
+    public static <T> @NotNull FeedbackPlan<T> compile(
+            final @NotNull Map<ResourcePackStatus, List<Action>> feedback,
+            final @NotNull ActionExecutor<T> executor,
+            final @NotNull PlaceholderResolver<T> placeholders
+    ) {
+        requireNonNull(feedback, "feedback");
+        requireNonNull(executor, "executor");
+        requireNonNull(placeholders, "placeholders");
+
+        final Map<ResourcePackStatus, List<CompiledAction<T>>> actionsByStatus = new EnumMap<>(ResourcePackStatus.class);
+        for (final Map.Entry<ResourcePackStatus, List<Action>> entry : feedback.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            final List<CompiledAction<T>> actions = new ArrayList<>(entry.getValue().size());
+            for (final Action action : entry.getValue()) {
+                actions.add(executor.compile(action, placeholders));
+            }
+            actionsByStatus.put(entry.getKey(), Collections.unmodifiableList(actions));
+        }
+        return new FeedbackPlan<>(actionsByStatus);
+    }
+
+}
@@ -24,24 +24,32 @@
 package team.unnamed.creative.central.common.action;
 
 import net.kyori.adventure.text.Component;
-import team.unnamed.creative.central.common.util.Components;
+import team.unnamed.creative.central.common.util.ComponentTemplate;
 
 public class KickAction implements Action {
 
     public static final String IDENTIFIER = "kick";
 
-    private final Component reason;
+    private final ComponentTemplate reason;
 
-    public KickAction(Component reason) {
+    public KickAction(ComponentTemplate reason) {
         this.reason = reason;
     }
 
+    public KickAction(Component reason) {
+        this(ComponentTemplate.of(reason));
+    }
+
     public Component reason() {
+        return reason.component();
+    }
+
+    public ComponentTemplate reasonTemplate() {
         return reason;
     }
 
     public static Action deserialize(Object src) {
-        return new KickAction(Components.deserialize(src.toString()));
+        return new KickAction(ComponentTemplate.parse(src.toString(), PlaceholderResolver.PLACEHOLDERS));
     }
 
 }
\ No newline at end of file
@@ -24,24 +24,32 @@
 package team.unnamed.creative.central.common.action;
 
 import net.kyori.adventure.text.Component;
-import team.unnamed.creative.central.common.util.Components;
+import team.unnamed.creative.central.common.util.ComponentTemplate;
 
 public class MessageAction implements Action {
 
     public static final String IDENTIFIER = "message";
 
-    private final Component message;
+    private final ComponentTemplate message;
 
-    public MessageAction(Component message) {
+    public MessageAction(ComponentTemplate message) {
         this.message = message;
     }
 
+    public MessageAction(Component message) {
+        this(ComponentTemplate.of(message));
+    }
+
     public Component message() {
+        return message.component();
+    }
+
+    public ComponentTemplate messageTemplate() {
         return message;
     }
 
     public static Action deserialize(Object src) {
-        return new MessageAction(Components.deserialize(src.toString()));
+        return new MessageAction(ComponentTemplate.parse(src.toString(), PlaceholderResolver.PLACEHOLDERS));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.action;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resolves the placeholders that can be used in the feedback
+ * action messages for a specific target (player).
+ *
+ * @param <T> The target type
+ */
+public interface PlaceholderResolver<T> {
+
+    /** The player name */
+    String PLAYER = "player";
+
+    /** The player unique id */
+    String UUID = "uuid";
+
+    /** The hash of the current resource-pack */
+    String PACK_HASH = "pack_hash";
+
+    /** All the placeholders supported in the actions */
+    List<String> PLACEHOLDERS = Collections.unmodifiableList(Arrays.asList(PLAYER, UUID, PACK_HASH));
+
+    /**
+     * Returns the key identifying the given target, used to
+     * cache what is rendered for it, e.g. the player unique id.
+     *
+     * @param target The target
+     * @return The target key
+     */
+    @NotNull Object key(@NotNull T target);
+
+    /**
+     * Resolves the value of the given placeholder for the
+     * given target.
+     *
+     * @param placeholder The placeholder name
+     * @param target The target
+     * @return The placeholder value, or null if unknown
+     */
+    @Nullable String resolve(@NotNull String placeholder, @NotNull T target);
+
+    /**
+     * Returns a resolver that resolves no placeholder. Since
+     * every target renders the same, templates using it are
+     * rendered only once, and its key is the same for every
+     * target.
+     *
+     * @param <T> The target type
+     * @return The resolver
+     */
+    @SuppressWarnings("unchecked")
+    static <T> @NotNull PlaceholderResolver<T> none() {
+        return (PlaceholderResolver<T>) NoPlaceholderResolver.INSTANCE;
+    }
+
+}
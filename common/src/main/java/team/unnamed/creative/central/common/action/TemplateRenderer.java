@@ -0,0 +1,138 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.action;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.central.common.util.ComponentTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Renders a {@link ComponentTemplate} for targets, keeping the
+ * latest renders of a bounded amount of targets, so that sending
+ * the same action to a player again only resolves the placeholder
+ * values and compares them.
+ *
+ * @param <T> The target type
+ * @param <R> The render type, e.g. a component or a legacy string
+ */
+public final class TemplateRenderer<T, R> {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final ComponentTemplate template;
+    private final PlaceholderResolver<T> placeholders;
+    private final Function<Component, R> finisher;
+    private final R staticRender;
+    private final Map<Object, Render<R>> cache;
+
+    public TemplateRenderer(
+            final @NotNull ComponentTemplate template,
+            final @NotNull PlaceholderResolver<T> placeholders,
+            final @NotNull Function<Component, R> finisher,
+            final int cacheSize
+    ) {
+        this.template = requireNonNull(template, "template");
+        this.placeholders = requireNonNull(placeholders, "placeholders");
+        this.finisher = requireNonNull(finisher, "finisher");
+        if (template.isStatic()) {
+            this.staticRender = finisher.apply(template.component());
+        } else if (placeholders == PlaceholderResolver.none()) {
+            // every placeholder is empty for every target, render it once
+            final String[] values = new String[template.placeholders().size()];
+            Arrays.fill(values, "");
+            this.staticRender = finisher.apply(template.render(values));
+        } else {
+            this.staticRender = null;
+        }
+        this.cache = new LinkedHashMap<Object, Render<R>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Render<R>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public TemplateRenderer(
+            final @NotNull ComponentTemplate template,
+            final @NotNull PlaceholderResolver<T> placeholders,
+            final @NotNull Function<Component, R> finisher
+    ) {
+        this(template, placeholders, finisher, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Renders the template for the given target.
+     *
+     * @param target The target
+     * @return The render
+     */
+    public @NotNull R render(final @NotNull T target) {
+        if (staticRender != null) {
+            return staticRender;
+        }
+
+        final List<String> names = template.placeholders();
+        final String[] values = new String[names.size()];
+        for (int i = 0; i < values.length; i++) {
+            final String value = placeholders.resolve(names.get(i), target);
+            values[i] = value == null ? "" : value;
+        }
+
+        final Object key = placeholders.key(target);
+        synchronized (cache) {
+            final Render<R> cached = cache.get(key);
+            if (cached != null && Arrays.equals(cached.values, values)) {
+                return cached.result;
+            }
+        }
+
+        // render outside the lock, worst case is rendering twice
+        final R result = finisher.apply(template.render(values));
+        synchronized (cache) {
+            cache.put(key, new Render<>(values, result));
+        }
+        return result;
+    }
+
+    private static final class Render<R> {
+
+        private final String[] values;
+        private final R result;
+
+        private Render(final String[] values, final R result) {
+            this.values = values;
+            this.result = result;
+        }
+
+    }
+
+}
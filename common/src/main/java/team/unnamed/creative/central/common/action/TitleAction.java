@@ -25,7 +25,7 @@ package team.unnamed.creative.central.common.action;
 
 import net.kyori.adventure.title.Title;
 import net.kyori.adventure.util.Ticks;
-import team.unnamed.creative.central.common.util.Components;
+import team.unnamed.creative.central.common.util.ComponentTemplate;
 
 import java.util.Map;
 
@@ -33,9 +33,19 @@ public class TitleAction implements Action {
 
     public static final String IDENTIFIER = "title";
 
+    private final ComponentTemplate titleTemplate;
+    private final ComponentTemplate subtitleTemplate;
     private final Title title;
 
+    public TitleAction(ComponentTemplate title, ComponentTemplate subtitle, Title.Times times) {
+        this.titleTemplate = title;
+        this.subtitleTemplate = subtitle;
+        this.title = Title.title(title.component(), subtitle.component(), times);
+    }
+
     public TitleAction(Title title) {
+        this.titleTemplate = ComponentTemplate.of(title.title());
+        this.subtitleTemplate = ComponentTemplate.of(title.subtitle());
         this.title = title;
     }
 
@@ -43,19 +53,27 @@ public class TitleAction implements Action {
         return title;
     }
 
+    public ComponentTemplate titleTemplate() {
+        return titleTemplate;
+    }
+
+    public ComponentTemplate subtitleTemplate() {
+        return subtitleTemplate;
+    }
+
     public static Action deserialize(Object src) {
         @SuppressWarnings("unchecked")
         Map<String, Object> data = (Map<String, Object>) src;
 
-        return new TitleAction(Title.title(
-                Components.deserialize(data.getOrDefault("title", "").toString()),
-                Components.deserialize(data.getOrDefault("subtitle", "").toString()),
+        return new TitleAction(
+                ComponentTemplate.parse(data.getOrDefault("title", "").toString(), PlaceholderResolver.PLACEHOLDERS),
+                ComponentTemplate.parse(data.getOrDefault("subtitle", "").toString(), PlaceholderResolver.PLACEHOLDERS),
                 Title.Times.times(
                         Ticks.duration(Integer.parseInt(data.getOrDefault("fade-in", 10).toString())),
                         Ticks.duration(Integer.parseInt(data.getOrDefault("stay", 70).toString())),
                         Ticks.duration(Integer.parseInt(data.getOrDefault("fade-out", 20).toString()))
                 )
-        ));
+        );
     }
 
 }
\ No newline at end of file
@@ -23,10 +23,17 @@
  */
 package team.unnamed.creative.central.common.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class ExportConfiguration {
 
     private String type = "mcpacks";
     private LocalHostExportConfiguration localHost = new LocalHostExportConfiguration();
+    private final HttpConfiguration http = new HttpConfiguration();
+    private final RetryConfiguration retry = new RetryConfiguration();
+    private final MultipleExportConfiguration multiple = new MultipleExportConfiguration();
 
     public String type() {
         return type;
@@ -40,12 +47,45 @@ public class ExportConfiguration {
         return localHost;
     }
 
+    public HttpConfiguration http() {
+        return http;
+    }
+
+    public RetryConfiguration retry() {
+        return retry;
+    }
+
+    public MultipleExportConfiguration multiple() {
+        return multiple;
+    }
+
+    /**
+     * Returns a string identifying every setting that determines
+     * where the resource-pack is exported to: the export type, the
+     * local host settings and the targets and policy of multiple
+     * exports. Two configurations with the same identity export to
+     * the same locations.
+     *
+     * @return The export identity
+     */
+    public String identity() {
+        return "type=" + type
+                + ";local-host=" + localHost.enabled + ',' + localHost.publicAddress + ',' + localHost.address + ',' + localHost.port
+                + ";policy=" + multiple.policy
+                + ";targets=" + String.join("\n", multiple.targets);
+    }
+
     public static class LocalHostExportConfiguration {
 
         private boolean enabled = false;
         private String publicAddress = "";
         private String address = "";
         private int port = 7270;
+        // content codings of the compressed downloads, each one
+        // keeps a compressed copy of the resource-pack in memory
+        private final List<String> compression = new ArrayList<>(Collections.singletonList("gzip"));
+        private final ExecutorConfiguration executor = new ExecutorConfiguration();
+        private final RateLimitConfiguration rateLimit = new RateLimitConfiguration();
 
         public boolean enabled() {
             return enabled;
@@ -79,6 +119,218 @@ public class ExportConfiguration {
             this.port = port;
         }
 
+        public List<String> compression() {
+            return compression;
+        }
+
+        public ExecutorConfiguration executor() {
+            return executor;
+        }
+
+        public RateLimitConfiguration rateLimit() {
+            return rateLimit;
+        }
+
+    }
+
+    public static class HttpConfiguration {
+
+        // deadlines for the exporters that upload the resource-pack
+        // to a remote server, in seconds, zero or less to disable
+        private int connectTimeout = 10;
+        private int readTimeout = 30;
+        private int totalTimeout = 120;
+
+        public int connectTimeout() {
+            return connectTimeout;
+        }
+
+        public void connectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public int readTimeout() {
+            return readTimeout;
+        }
+
+        public void readTimeout(int readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public int totalTimeout() {
+            return totalTimeout;
+        }
+
+        public void totalTimeout(int totalTimeout) {
+            this.totalTimeout = totalTimeout;
+        }
+
+    }
+
+    public static class MultipleExportConfiguration {
+
+        // how to combine the targets, one of 'first-success',
+        // 'all-required' or 'primary-with-fallback'
+        private String policy = "first-success";
+        private final List<String> targets = new ArrayList<>();
+
+        public String policy() {
+            return policy;
+        }
+
+        public void policy(String policy) {
+            this.policy = policy;
+        }
+
+        public List<String> targets() {
+            return targets;
+        }
+
+    }
+
+    public static class RetryConfiguration {
+
+        // attempts per export and backoff between them, in seconds,
+        // the actual wait is a random value up to the backoff (jitter)
+        private int maxAttempts = 3;
+        private int initialBackoff = 1;
+        private int maxBackoff = 30;
+
+        // consecutive failed exports before the remote is considered
+        // down, and seconds to wait before trying again
+        private int failureThreshold = 3;
+        private int openDuration = 300;
+
+        public int maxAttempts() {
+            return maxAttempts;
+        }
+
+        public void maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public int initialBackoff() {
+            return initialBackoff;
+        }
+
+        public void initialBackoff(int initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public int maxBackoff() {
+            return maxBackoff;
+        }
+
+        public void maxBackoff(int maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public int failureThreshold() {
+            return failureThreshold;
+        }
+
+        public void failureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public int openDuration() {
+            return openDuration;
+        }
+
+        public void openDuration(int openDuration) {
+            this.openDuration = openDuration;
+        }
+
+    }
+
+    public static class ExecutorConfiguration {
+
+        // the way download requests are handled, one of 'virtual'
+        // (a virtual thread per request, Java 21+), 'pool' (a bounded
+        // pool of platform threads) or 'default' (a single thread)
+        private String type = "virtual";
+        private int threads = 16;
+        private int maxConcurrentRequests = 256;
+
+        public String type() {
+            return type;
+        }
+
+        public void type(String type) {
+            this.type = type;
+        }
+
+        public int threads() {
+            return threads;
+        }
+
+        public void threads(int threads) {
+            this.threads = threads;
+        }
+
+        public int maxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+    }
+
+    public static class RateLimitConfiguration {
+
+        // bandwidth limits, in KiB per second, zero or less to disable
+        private int perConnectionBandwidth = 0;
+        private int globalBandwidth = 0;
+
+        // maximum amount of downloads at the same time, zero or less
+        // to disable, other clients wait up to some seconds for their
+        // turn and are then told to retry after some seconds
+        private int maxConcurrentDownloads = 0;
+        private int maxWait = 10;
+        private int retryAfter = 5;
+
+        public int perConnectionBandwidth() {
+            return perConnectionBandwidth;
+        }
+
+        public void perConnectionBandwidth(int perConnectionBandwidth) {
+            this.perConnectionBandwidth = perConnectionBandwidth;
+        }
+
+        public int globalBandwidth() {
+            return globalBandwidth;
+        }
+
+        public void globalBandwidth(int globalBandwidth) {
+            this.globalBandwidth = globalBandwidth;
+        }
+
+        public int maxConcurrentDownloads() {
+            return maxConcurrentDownloads;
+        }
+
+        public void maxConcurrentDownloads(int maxConcurrentDownloads) {
+            this.maxConcurrentDownloads = maxConcurrentDownloads;
+        }
+
+        public int maxWait() {
+            return maxWait;
+        }
+
+        public void maxWait(int maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int retryAfter() {
+            return retryAfter;
+        }
+
+        public void retryAfter(int retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
     }
 
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ public class SendConfiguration {
 
     private final RequestConfiguration request = new RequestConfiguration();
     private int delay = 0;
+    private boolean batchStatusEvents = false;
 
     public RequestConfiguration request() {
         return request;
@@ -42,6 +43,14 @@ public class SendConfiguration {
         return delay;
     }
 
+    public void batchStatusEvents(boolean batchStatusEvents) {
+        this.batchStatusEvents = batchStatusEvents;
+    }
+
+    public boolean batchStatusEvents() {
+        return batchStatusEvents;
+    }
+
     public static class RequestConfiguration {
 
         private boolean required = true;
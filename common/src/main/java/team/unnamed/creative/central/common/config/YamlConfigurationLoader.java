@@ -60,6 +60,8 @@ public class YamlConfigurationLoader {
         config.send().request().required((boolean) request.get("required"));
         config.send().request().prompt((String) request.get("prompt"));
         config.send().delay((int) send.get("delay"));
+        // optional, may not be present in old configurations
+        config.send().batchStatusEvents((boolean) send.getOrDefault("batch-status-events", config.send().batchStatusEvents()));
 
         // read the feedback section
         Map<String, ?> feedback = data.containsKey("feedback")
@@ -92,6 +94,59 @@ public class YamlConfigurationLoader {
         config.export().localHost().publicAddress((String) localhost.get("public-address"));
         config.export().localHost().port((int) localhost.get("port"));
 
+        // optional, may not be present in old configurations
+        List<String> compression = (List<String>) localhost.get("compression");
+        if (compression != null) {
+            config.export().localHost().compression().clear();
+            config.export().localHost().compression().addAll(compression);
+        }
+
+        Map<String, Object> executor = (Map<String, Object>) localhost.get("executor");
+        if (executor != null) {
+            ExportConfiguration.ExecutorConfiguration executorConfig = config.export().localHost().executor();
+            executorConfig.type((String) executor.getOrDefault("type", executorConfig.type()));
+            executorConfig.threads((int) executor.getOrDefault("threads", executorConfig.threads()));
+            executorConfig.maxConcurrentRequests((int) executor.getOrDefault("max-concurrent-requests", executorConfig.maxConcurrentRequests()));
+        }
+
+        Map<String, Object> rateLimit = (Map<String, Object>) localhost.get("rate-limit");
+        if (rateLimit != null) {
+            ExportConfiguration.RateLimitConfiguration rateLimitConfig = config.export().localHost().rateLimit();
+            rateLimitConfig.perConnectionBandwidth((int) rateLimit.getOrDefault("per-connection-bandwidth", rateLimitConfig.perConnectionBandwidth()));
+            rateLimitConfig.globalBandwidth((int) rateLimit.getOrDefault("global-bandwidth", rateLimitConfig.globalBandwidth()));
+            rateLimitConfig.maxConcurrentDownloads((int) rateLimit.getOrDefault("max-concurrent-downloads", rateLimitConfig.maxConcurrentDownloads()));
+            rateLimitConfig.maxWait((int) rateLimit.getOrDefault("max-wait", rateLimitConfig.maxWait()));
+            rateLimitConfig.retryAfter((int) rateLimit.getOrDefault("retry-after", rateLimitConfig.retryAfter()));
+        }
+
+        Map<String, Object> multiple = (Map<String, Object>) export.get("multiple");
+        if (multiple != null) {
+            ExportConfiguration.MultipleExportConfiguration multipleConfig = config.export().multiple();
+            multipleConfig.policy((String) multiple.getOrDefault("policy", multipleConfig.policy()));
+            List<String> targets = (List<String>) multiple.get("targets");
+            if (targets != null) {
+                multipleConfig.targets().addAll(targets);
+            }
+        }
+
+        Map<String, Object> http = (Map<String, Object>) export.get("http");
+        if (http != null) {
+            ExportConfiguration.HttpConfiguration httpConfig = config.export().http();
+            httpConfig.connectTimeout((int) http.getOrDefault("connect-timeout", httpConfig.connectTimeout()));
+            httpConfig.readTimeout((int) http.getOrDefault("read-timeout", httpConfig.readTimeout()));
+            httpConfig.totalTimeout((int) http.getOrDefault("total-timeout", httpConfig.totalTimeout()));
+        }
+
+        Map<String, Object> retry = (Map<String, Object>) export.get("retry");
+        if (retry != null) {
+            ExportConfiguration.RetryConfiguration retryConfig = config.export().retry();
+            retryConfig.maxAttempts((int) retry.getOrDefault("max-attempts", retryConfig.maxAttempts()));
+            retryConfig.initialBackoff((int) retry.getOrDefault("initial-backoff", retryConfig.initialBackoff()));
+            retryConfig.maxBackoff((int) retry.getOrDefault("max-backoff", retryConfig.maxBackoff()));
+            retryConfig.failureThreshold((int) retry.getOrDefault("failure-threshold", retryConfig.failureThreshold()));
+            retryConfig.openDuration((int) retry.getOrDefault("open-duration", retryConfig.openDuration()));
+        }
+
         // read the "command" section (messages)
         Map<String, ?> command = (Map<String, ?>) data.get("command");
         toNodes("", command, config.messages());
@@ -28,29 +28,135 @@ import team.unnamed.creative.central.event.Event;
 import team.unnamed.creative.central.event.EventListener;
 import team.unnamed.creative.central.event.EventBus;
 
-import java.util.Collection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.TreeSet;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
 
 public final class EventBusImpl<T> implements EventBus {
 
-    private static final Comparator<RegisteredEventListener<?>> LISTENER_COMPARATOR = Comparator
-            .<RegisteredEventListener<?>>comparingInt(listener -> listener.listener().priority().ordinal())
-            .thenComparingInt(System::identityHashCode);
+    private static final RegisteredEventListener<?>[] NO_LISTENERS = new RegisteredEventListener<?>[0];
+    private static final Comparator<RegisteredEventListener<?>> PRIORITY_COMPARATOR = Comparator
+            .comparingInt(listener -> listener.listener().priority().ordinal());
 
-    private final Map<Class<?>, Collection<RegisteredEventListener<?>>> listenersByEventType = new HashMap<>();
+    // immutable arrays sorted by priority, replaced (never modified)
+    // on registration, so that calls can iterate them without locking
+    private final ConcurrentMap<Class<?>, RegisteredEventListener<?>[]> listenersByEventType = new ConcurrentHashMap<>();
+
+    // the listeners of each called event type and all its supertypes,
+    // merged by priority. Replaced by an empty map on registration, so
+    // that a resolution racing a registration can't store stale arrays
+    private volatile ConcurrentMap<Class<?>, ResolvedListeners> resolvedListeners = new ConcurrentHashMap<>();
+    // the same, but only with the listeners of exactly each event type
+    private volatile ConcurrentMap<Class<?>, ResolvedListeners> exactListeners = new ConcurrentHashMap<>();
     private final Class<T> pluginClass;
     private final EventExceptionHandler exceptionHandler;
+    private final Executor asyncExecutor;
+    // whether the async executor was created (and must be shut down) by this event bus
+    private final boolean ownsExecutor;
 
-    public EventBusImpl(Class<T> pluginClass, EventExceptionHandler exceptionHandler) {
+    private EventBusImpl(
+            Class<T> pluginClass,
+            EventExceptionHandler exceptionHandler,
+            Executor asyncExecutor,
+            boolean ownsExecutor
+    ) {
         requireNonNull(pluginClass, "pluginClass");
         requireNonNull(exceptionHandler, "exceptionHandler");
+        requireNonNull(asyncExecutor, "asyncExecutor");
         this.pluginClass = pluginClass;
         this.exceptionHandler = exceptionHandler;
+        this.asyncExecutor = asyncExecutor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates an event bus that calls the asynchronous listeners in
+     * the given executor, which is owned by the caller, {@link #close()}
+     * will not shut it down.
+     *
+     * @param pluginClass The plugin class
+     * @param exceptionHandler The listener exception handler
+     * @param asyncExecutor The executor for asynchronous listeners
+     */
+    public EventBusImpl(Class<T> pluginClass, EventExceptionHandler exceptionHandler, Executor asyncExecutor) {
+        this(pluginClass, exceptionHandler, asyncExecutor, false);
+    }
+
+    /**
+     * Creates an event bus with its own executor for asynchronous
+     * listeners, see {@link #asyncExecutor(int, int)}. The executor
+     * must be shut down via {@link #close()}.
+     *
+     * @param pluginClass The plugin class
+     * @param exceptionHandler The listener exception handler
+     */
+    public EventBusImpl(Class<T> pluginClass, EventExceptionHandler exceptionHandler) {
+        this(pluginClass, exceptionHandler, asyncExecutor(2, 1024), true);
+    }
+
+    /**
+     * Creates a bounded executor for asynchronous listeners, when
+     * all the threads are busy and the queue is full, the listeners
+     * are executed in the thread calling the event. Once shut down,
+     * new calls are rejected.
+     *
+     * @param threads The maximum amount of threads
+     * @param queueCapacity The maximum amount of pending calls
+     * @return The created executor
+     */
+    public static ExecutorService asyncExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "creative-central-event-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    // like CallerRunsPolicy, but do not silently drop the
+                    // call after shutdown, it would never complete
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("The event executor has been shut down");
+                    }
+                    runnable.run();
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Shuts down the executor for asynchronous listeners, if it was
+     * created by this event bus. Pending calls still complete, later
+     * asynchronous calls complete exceptionally.
+     */
+    public void close() {
+        if (ownsExecutor) {
+            ((ExecutorService) asyncExecutor).shutdown();
+        }
     }
 
     @Override
@@ -64,21 +170,85 @@ public final class EventBusImpl<T> implements EventBus {
 
         RegisteredEventListener<E> registration = new RegisteredEventListener<>(plugin, listener);
 
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        Collection<RegisteredEventListener<E>> listeners = (Collection) listenersByEventType
-                .computeIfAbsent(eventType, k -> new TreeSet<>(LISTENER_COMPARATOR));
-        listeners.add(registration);
+        // compute is atomic per event type, concurrent registrations
+        // for the same type are applied one after another
+        listenersByEventType.compute(eventType, (type, listeners) -> insert(
+                listeners == null ? NO_LISTENERS : listeners,
+                registration
+        ));
+        resolvedListeners = new ConcurrentHashMap<>();
+        exactListeners = new ConcurrentHashMap<>();
     }
 
     @Override
     public <E extends Event> void call(Class<E> eventType, E event) {
-        @SuppressWarnings({"unchecked", "rawtypes"})
-        Collection<RegisteredEventListener<E>> listeners = (Collection) listenersByEventType.get(eventType);
+        dispatch(eventType, event, resolve(eventType).all);
+    }
+
+    @Override
+    public <E extends Event> CompletableFuture<E> callAsync(Class<E> eventType, E event) {
+        return callAsync(eventType, event, resolve(eventType));
+    }
+
+    /**
+     * Determines whether there are listeners registered for exactly
+     * the given event type, listeners registered for its supertypes
+     * are not considered.
+     *
+     * @param eventType The event type
+     * @return True if there are listeners for the event type
+     */
+    public boolean hasExactListeners(Class<? extends Event> eventType) {
+        RegisteredEventListener<?>[] listeners = listenersByEventType.get(eventType);
+        return listeners != null && listeners.length > 0;
+    }
+
+    /**
+     * Calls the given event only to the listeners registered for
+     * exactly the given event type, like {@link #callAsync}, but
+     * skipping the listeners registered for its supertypes.
+     *
+     * @param eventType The event type
+     * @param event The event
+     * @return A future completed after all the listeners were called
+     * @param <E> The event type
+     */
+    public <E extends Event> CompletableFuture<E> callExactAsync(Class<E> eventType, E event) {
+        ConcurrentMap<Class<?>, ResolvedListeners> resolved = exactListeners;
+        ResolvedListeners listeners = resolved.get(eventType);
         if (listeners == null) {
-            return;
+            listeners = new ResolvedListeners(listenersByEventType.getOrDefault(eventType, NO_LISTENERS));
+            resolved.put(eventType, listeners);
+        }
+        return callAsync(eventType, event, listeners);
+    }
+
+    private <E extends Event> CompletableFuture<E> callAsync(Class<E> eventType, E event, ResolvedListeners listeners) {
+        dispatch(eventType, event, listeners.sync);
+
+        if (listeners.async.length == 0) {
+            return CompletableFuture.completedFuture(event);
+        }
+
+        CompletableFuture<E> future = new CompletableFuture<>();
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    dispatch(eventType, event, listeners.async);
+                } finally {
+                    future.complete(event);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
         }
+        return future;
+    }
 
-        for (RegisteredEventListener<E> listener : listeners) {
+    private <E extends Event> void dispatch(Class<E> eventType, E event, RegisteredEventListener<?>[] listeners) {
+        for (RegisteredEventListener<?> registration : listeners) {
+            @SuppressWarnings("unchecked")
+            RegisteredEventListener<E> listener = (RegisteredEventListener<E>) registration;
             try {
                 listener.listener().on(event);
             } catch (Exception e) {
@@ -87,4 +257,80 @@ public final class EventBusImpl<T> implements EventBus {
         }
     }
 
+    private ResolvedListeners resolve(Class<?> eventType) {
+        ConcurrentMap<Class<?>, ResolvedListeners> resolved = resolvedListeners;
+        ResolvedListeners listeners = resolved.get(eventType);
+        if (listeners == null) {
+            listeners = new ResolvedListeners(merge(eventType));
+            resolved.put(eventType, listeners);
+        }
+        return listeners;
+    }
+
+    private RegisteredEventListener<?>[] merge(Class<?> eventType) {
+        List<RegisteredEventListener<?>> merged = new ArrayList<>();
+        for (Class<?> type : hierarchy(eventType)) {
+            RegisteredEventListener<?>[] listeners = listenersByEventType.get(type);
+            if (listeners != null) {
+                Collections.addAll(merged, listeners);
+            }
+        }
+        // stable sort, listeners with the same priority run from the
+        // most specific event type to the least specific one
+        merged.sort(PRIORITY_COMPARATOR);
+        return merged.toArray(NO_LISTENERS);
+    }
+
+    private static Set<Class<?>> hierarchy(Class<?> eventType) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(eventType);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (!Event.class.isAssignableFrom(type) || !hierarchy.add(type)) {
+                continue;
+            }
+            Class<?> superclass = type.getSuperclass();
+            if (superclass != null) {
+                pending.add(superclass);
+            }
+            Collections.addAll(pending, type.getInterfaces());
+        }
+        return hierarchy;
+    }
+
+    private static RegisteredEventListener<?>[] insert(RegisteredEventListener<?>[] listeners, RegisteredEventListener<?> registration) {
+        // insert after every listener with the same or a lower priority,
+        // listeners with the same priority keep their registration order
+        int priority = registration.listener().priority().ordinal();
+        int index = listeners.length;
+        while (index > 0 && listeners[index - 1].listener().priority().ordinal() > priority) {
+            index--;
+        }
+
+        RegisteredEventListener<?>[] copy = Arrays.copyOf(listeners, listeners.length + 1);
+        System.arraycopy(listeners, index, copy, index + 1, listeners.length - index);
+        copy[index] = registration;
+        return copy;
+    }
+
+    private static final class ResolvedListeners {
+
+        private final RegisteredEventListener<?>[] all;
+        private final RegisteredEventListener<?>[] sync;
+        private final RegisteredEventListener<?>[] async;
+
+        private ResolvedListeners(RegisteredEventListener<?>[] all) {
+            List<RegisteredEventListener<?>> sync = new ArrayList<>();
+            List<RegisteredEventListener<?>> async = new ArrayList<>();
+            for (RegisteredEventListener<?> listener : all) {
+                (listener.listener().async() ? async : sync).add(listener);
+            }
+            this.all = all;
+            this.sync = sync.toArray(NO_LISTENERS);
+            this.async = async.toArray(NO_LISTENERS);
+        }
+
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.event;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.central.event.pack.ResourcePackStatusBatchEvent;
+import team.unnamed.creative.central.event.pack.ResourcePackStatusEvent;
+import team.unnamed.creative.central.pack.ResourcePackStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects resource-pack statuses and calls them as a single
+ * {@link ResourcePackStatusBatchEvent} when flushed, which is
+ * normally done once per server tick.
+ *
+ * <p>For compatibility, the statuses are also called one by one as
+ * {@link ResourcePackStatusEvent}s, but only to the listeners
+ * registered for exactly that type, and only if there are any.
+ * Listeners for supertypes receive the batch only, so no listener
+ * receives a status twice.</p>
+ */
+public final class ResourcePackStatusBatcher {
+
+    private final EventBusImpl<?> eventBus;
+
+    // players and statuses received since the last flush, at the
+    // same index, swapped by new lists when flushed
+    private final Object lock = new Object();
+    private List<Object> players = new ArrayList<>();
+    private List<ResourcePackStatus> statuses = new ArrayList<>();
+
+    public ResourcePackStatusBatcher(final @NotNull EventBusImpl<?> eventBus) {
+        this.eventBus = requireNonNull(eventBus, "eventBus");
+    }
+
+    /**
+     * Adds a status to the next batch, can be called from
+     * any thread.
+     *
+     * @param player The player who sent the status
+     * @param status The received status
+     */
+    public void add(final @NotNull Object player, final @NotNull ResourcePackStatus status) {
+        requireNonNull(player, "player");
+        requireNonNull(status, "status");
+        synchronized (lock) {
+            players.add(player);
+            statuses.add(status);
+        }
+    }
+
+    /**
+     * Calls the pending statuses as a batch. Does nothing if
+     * there are no pending statuses.
+     */
+    public void flush() {
+        final List<Object> players;
+        final List<ResourcePackStatus> statuses;
+        synchronized (lock) {
+            if (this.statuses.isEmpty()) {
+                return;
+            }
+            players = this.players;
+            statuses = this.statuses;
+            this.players = new ArrayList<>();
+            this.statuses = new ArrayList<>();
+        }
+
+        eventBus.callAsync(ResourcePackStatusBatchEvent.class, new ResourcePackStatusBatchEvent(players, statuses));
+
+        if (eventBus.hasExactListeners(ResourcePackStatusEvent.class)) {
+            for (int i = 0; i < statuses.size(); i++) {
+                eventBus.callExactAsync(ResourcePackStatusEvent.class, new ResourcePackStatusEvent(players.get(i), statuses.get(i)));
+            }
+        }
+    }
+
+}
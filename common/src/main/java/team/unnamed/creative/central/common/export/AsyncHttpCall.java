@@ -0,0 +1,233 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An HTTP call to a remote server performed by an exporter, as a
+ * {@link CompletableFuture} that can be cancelled and that has a
+ * total deadline.
+ *
+ * <p>Cancelling the call or reaching its deadline disconnects its
+ * current connection, so that a blocked read or write fails right
+ * away instead of holding up the executing thread.</p>
+ *
+ * @param <T> The call result type
+ */
+final class AsyncHttpCall<T> extends CompletableFuture<T> {
+
+    private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(task -> {
+        final Thread thread = new Thread(task, "creative-central-export-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final HttpTimeouts timeouts;
+    private volatile @Nullable HttpURLConnection connection;
+
+    private AsyncHttpCall(final @NotNull HttpTimeouts timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    /**
+     * Starts a new call, executing the given task in the given executor.
+     *
+     * @param executor The executor, may be a direct executor
+     * @param timeouts The timeouts for the call
+     * @param task The task that performs the call
+     * @return The call
+     * @param <T> The call result type
+     */
+    static <T> @NotNull AsyncHttpCall<T> start(
+            final @NotNull Executor executor,
+            final @NotNull HttpTimeouts timeouts,
+            final @NotNull Task<T> task
+    ) {
+        final AsyncHttpCall<T> call = new AsyncHttpCall<>(timeouts);
+
+        if (timeouts.totalTimeout() > 0) {
+            final ScheduledFuture<?> deadline = DEADLINES.schedule(
+                    () -> call.completeExceptionally(new SocketTimeoutException(
+                            "Export did not finish in " + timeouts.totalTimeout() + "ms")),
+                    timeouts.totalTimeout(),
+                    TimeUnit.MILLISECONDS
+            );
+            call.whenComplete((result, error) -> deadline.cancel(false));
+        }
+
+        try {
+            executor.execute(() -> {
+                if (call.isDone()) {
+                    // cancelled or timed out before starting
+                    return;
+                }
+                try {
+                    call.complete(task.run(call));
+                } catch (final Throwable e) {
+                    call.completeExceptionally(e);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            call.completeExceptionally(e);
+        }
+        return call;
+    }
+
+    /**
+     * Waits for the given future and returns its result, rethrowing
+     * the failure cause as an {@link IOException} if possible.
+     *
+     * @param future The future to wait for
+     * @return The future result
+     * @param <T> The future result type
+     * @throws IOException If the future failed
+     */
+    static <T> T await(final @NotNull CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while exporting");
+        } catch (final CancellationException e) {
+            throw new InterruptedIOException("Export cancelled");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IOException(cause);
+            }
+        }
+    }
+
+    /**
+     * Opens a new connection to the given URL, with the timeouts
+     * of this call. The connection is disconnected if this call is
+     * cancelled or reaches its deadline.
+     *
+     * @param url The URL to connect to
+     * @return The opened connection
+     * @throws IOException If the call was already completed or opening fails
+     */
+    @NotNull HttpURLConnection open(final @NotNull URL url) throws IOException {
+        checkNotDone();
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(timeouts.connectTimeout());
+        connection.setReadTimeout(timeouts.readTimeout());
+        this.connection = connection;
+        checkNotDone();
+        return connection;
+    }
+
+    /**
+     * Checks whether the given URL exists, using a {@code HEAD}
+     * request, with the timeouts of this call.
+     *
+     * @param url The URL to check
+     * @return True if the server responded with 200 (OK), false
+     * otherwise, or if the request failed
+     * @throws IOException If this call was cancelled or timed out
+     */
+    boolean exists(final @NotNull URL url) throws IOException {
+        final HttpURLConnection connection = open(url);
+        try {
+            connection.setRequestMethod("HEAD");
+            connection.setRequestProperty("User-Agent", "creative-central");
+            return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+        } catch (final IOException e) {
+            if (isDone()) {
+                throw e;
+            }
+            // unknown, just assume it doesn't exist
+            return false;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Override
+    public boolean completeExceptionally(final Throwable ex) {
+        final boolean completed = super.completeExceptionally(ex);
+        if (completed) {
+            disconnect();
+        }
+        return completed;
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            disconnect();
+        }
+        return cancelled;
+    }
+
+    private void checkNotDone() throws IOException {
+        if (isDone()) {
+            disconnect();
+            throw new InterruptedIOException("Export cancelled or timed out");
+        }
+    }
+
+    private void disconnect() {
+        final HttpURLConnection connection = this.connection;
+        if (connection != null) {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * The task that performs an HTTP call.
+     *
+     * @param <T> The call result type
+     */
+    @FunctionalInterface
+    interface Task<T> {
+        T run(final @NotNull AsyncHttpCall<T> call) throws IOException;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the consecutive failures of a remote exporter, and stops
+ * calling it for some time after too many of them, so that exports
+ * don't keep waiting for a remote server that is down.
+ *
+ * <p>The circuit starts {@link State#CLOSED closed}. It is opened after
+ * {@code failureThreshold} consecutive failures, and after
+ * {@code openDuration} it becomes {@link State#HALF_OPEN half-open}, the
+ * next export is then attempted as a probe: if it succeeds, the circuit
+ * is closed, otherwise, it is opened again. Only one probe is allowed at
+ * a time, other exports are rejected until it finishes.</p>
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        /**
+         * The remote is healthy, exports are attempted
+         */
+        CLOSED,
+        /**
+         * The remote is down, exports are not attempted
+         */
+        OPEN,
+        /**
+         * The remote was down, a single probe export is attempted
+         */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    /**
+     * Creates a new circuit breaker.
+     *
+     * @param failureThreshold Consecutive failures to open the circuit
+     * @param openDuration Time to wait before trying again, in milliseconds
+     */
+    public CircuitBreaker(final int failureThreshold, final long openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, openDuration));
+    }
+
+    /**
+     * Determines whether an export should be attempted now. If
+     * this returns true, the result of the export must be recorded
+     * using {@link #recordSuccess()} or {@link #recordFailure()}.
+     *
+     * @return True if the export should be attempted
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+                // only the probe goes through, until its result is recorded
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Records a successful export, closing the circuit.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        probeInFlight = false;
+    }
+
+    /**
+     * Records a failed export, opening the circuit if
+     * the failure threshold was reached.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+        probeInFlight = false;
+    }
+
+    public synchronized @NotNull State state() {
+        return state;
+    }
+
+    public synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+}
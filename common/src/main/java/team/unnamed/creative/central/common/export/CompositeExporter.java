@@ -0,0 +1,255 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.central.common.pack.DeterministicResourcePackWriter;
+import team.unnamed.creative.central.export.ResourcePackExporter;
+import team.unnamed.creative.central.export.ResourcePackLocation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exports the same built resource-pack to several targets in
+ * parallel, combining their locations according to a {@link Policy}.
+ *
+ * <p>The returned location has the main URI and, depending on the
+ * policy, the URIs of the other targets as
+ * {@link ResourcePackLocation#mirrors() mirrors}, so that players can
+ * be sent to different targets.</p>
+ *
+ * <p>The export returns as soon as the policy has a result, it
+ * does not wait for the targets that can't change it. Those keep
+ * exporting in the background, and their failures are only logged.</p>
+ */
+public final class CompositeExporter implements ResourcePackExporter {
+
+    public enum Policy {
+        /**
+         * Succeeds as soon as any target succeeds, the first target
+         * to finish is the main location and the targets that had
+         * already finished at that point are mirrors
+         */
+        FIRST_SUCCESS,
+        /**
+         * Succeeds only if every target succeeds, the first
+         * target is the main location and the others are mirrors,
+         * fails as soon as any target fails
+         */
+        ALL_REQUIRED,
+        /**
+         * The first target is the only location if it succeeds,
+         * otherwise, the first successful target (in priority order)
+         * is used, as soon as every target before it failed
+         */
+        PRIMARY_WITH_FALLBACK;
+
+        public static @NotNull Policy parse(final @NotNull String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export policy: '" + value + "'. Possible"
+                        + " values: 'first-success', 'all-required', 'primary-with-fallback'", e);
+            }
+        }
+    }
+
+    private final Map<String, ResourcePackExporter> targets;
+    private final Policy policy;
+    private final Executor executor;
+    private final Logger logger;
+
+    /**
+     * Creates a new composite exporter.
+     *
+     * @param targets The target exporters, by name, in priority order
+     * @param policy The policy to combine the target locations
+     * @param executor The executor used to export to every target
+     * @param logger The logger
+     */
+    public CompositeExporter(
+            final @NotNull Map<String, ResourcePackExporter> targets,
+            final @NotNull Policy policy,
+            final @NotNull Executor executor,
+            final @NotNull Logger logger
+    ) {
+        requireNonNull(targets, "targets");
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one export target is required");
+        }
+        this.targets = Collections.unmodifiableMap(new LinkedHashMap<>(targets));
+        this.policy = requireNonNull(policy, "policy");
+        this.executor = requireNonNull(executor, "executor");
+        this.logger = requireNonNull(logger, "logger");
+    }
+
+    @Override
+    public @Nullable ResourcePackLocation export(final ResourcePack resourcePack) throws IOException {
+        return export(resourcePack, DeterministicResourcePackWriter.build(resourcePack));
+    }
+
+    @Override
+    public @NotNull ResourcePackLocation export(final @NotNull ResourcePack resourcePack, final @NotNull BuiltResourcePack builtResourcePack) throws IOException {
+        // start every export, in parallel, from the same built resource-pack
+        final List<String> names = new ArrayList<>(targets.keySet());
+        final List<CompletableFuture<ResourcePackLocation>> futures = new ArrayList<>(names.size());
+        // indexes of the targets, in the order their export finished
+        final BlockingQueue<Integer> completions = new LinkedBlockingQueue<>();
+        for (int i = 0; i < names.size(); i++) {
+            final int index = i;
+            final String name = names.get(i);
+            final CompletableFuture<ResourcePackLocation> future = targets.get(name)
+                    .exportAsync(resourcePack, builtResourcePack, executor)
+                    .thenApply(location -> {
+                        if (location == null) {
+                            throw new CompletionException(new IOException("Export target '" + name + "' is not hosted"));
+                        }
+                        return location;
+                    });
+            futures.add(future);
+            future.whenComplete((location, e) -> {
+                // failures are logged here, so that they are also
+                // logged if they happen after the export returned
+                if (e != null) {
+                    logger.log(Level.WARNING, "Failed to export resource pack to '" + name + "'", unwrap(e));
+                }
+                completions.add(index);
+            });
+        }
+
+        final String hash = builtResourcePack.hash();
+        // the location of every finished target, null if it failed
+        final URI[] locations = new URI[names.size()];
+        final boolean[] finished = new boolean[names.size()];
+        IOException failure = null;
+
+        for (int remaining = names.size(); remaining > 0; remaining--) {
+            final int index = take(completions);
+            finished[index] = true;
+            try {
+                locations[index] = futures.get(index).join().uri();
+            } catch (final CompletionException | CancellationException e) {
+                final Throwable cause = unwrap(e);
+                final IOException targetFailure = cause instanceof IOException
+                        ? (IOException) cause
+                        : new IOException("Failed to export resource pack to '" + names.get(index) + "'", cause);
+                if (failure == null) {
+                    failure = targetFailure;
+                } else {
+                    failure.addSuppressed(targetFailure);
+                }
+            }
+
+            switch (policy) {
+                case FIRST_SUCCESS: {
+                    if (locations[index] == null) {
+                        break;
+                    }
+                    // the targets that finished meanwhile are mirrors
+                    final List<URI> mirrors = new ArrayList<>();
+                    Integer other;
+                    while ((other = completions.poll()) != null) {
+                        final URI mirror = uriOf(futures.get(other));
+                        if (mirror != null) {
+                            mirrors.add(mirror);
+                        }
+                    }
+                    return ResourcePackLocation.of(locations[index], hash, mirrors);
+                }
+                case ALL_REQUIRED: {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    break;
+                }
+                case PRIMARY_WITH_FALLBACK: {
+                    // the first target, in priority order, that did not fail
+                    for (int i = 0; i < names.size(); i++) {
+                        if (!finished[i]) {
+                            // it may still succeed, wait for it
+                            break;
+                        } else if (locations[i] != null) {
+                            return ResourcePackLocation.of(locations[i], hash);
+                        }
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unknown policy: " + policy);
+            }
+        }
+
+        if (policy == Policy.ALL_REQUIRED) {
+            final List<URI> uris = new ArrayList<>(names.size());
+            Collections.addAll(uris, locations);
+            return ResourcePackLocation.of(uris.get(0), hash, uris.subList(1, uris.size()));
+        }
+
+        // every target failed
+        throw requireNonNull(failure, "failure");
+    }
+
+    private static int take(final @NotNull BlockingQueue<Integer> completions) throws IOException {
+        try {
+            return completions.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the export targets");
+        }
+    }
+
+    private static @Nullable URI uriOf(final @NotNull CompletableFuture<ResourcePackLocation> future) {
+        try {
+            return future.join().uri();
+        } catch (final CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    private static @NotNull Throwable unwrap(final @NotNull Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Deadlines for the exporters that upload the resource-pack to
+ * a remote HTTP server, all of them in milliseconds, zero means
+ * no limit.
+ */
+public final class HttpTimeouts {
+
+    public static final HttpTimeouts DEFAULT = new HttpTimeouts(10_000, 30_000, 120_000);
+
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final long totalTimeout;
+
+    private HttpTimeouts(final int connectTimeout, final int readTimeout, final long totalTimeout) {
+        if (connectTimeout < 0 || readTimeout < 0 || totalTimeout < 0) {
+            throw new IllegalArgumentException("Timeouts cannot be negative");
+        }
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.totalTimeout = totalTimeout;
+    }
+
+    /**
+     * Creates a new set of timeouts, in milliseconds.
+     *
+     * @param connectTimeout Maximum time to establish the connection
+     * @param readTimeout Maximum time waiting for data from the server
+     * @param totalTimeout Maximum time for the whole export
+     * @return The timeouts
+     */
+    public static @NotNull HttpTimeouts of(final int connectTimeout, final int readTimeout, final long totalTimeout) {
+        return new HttpTimeouts(connectTimeout, readTimeout, totalTimeout);
+    }
+
+    /**
+     * Creates a new set of timeouts, in seconds, zero or
+     * less means no limit.
+     *
+     * @param connectTimeout Maximum time to establish the connection
+     * @param readTimeout Maximum time waiting for data from the server
+     * @param totalTimeout Maximum time for the whole export
+     * @return The timeouts
+     */
+    public static @NotNull HttpTimeouts seconds(final int connectTimeout, final int readTimeout, final int totalTimeout) {
+        return new HttpTimeouts(
+                Math.max(0, connectTimeout) * 1000,
+                Math.max(0, readTimeout) * 1000,
+                Math.max(0, totalTimeout) * 1000L
+        );
+    }
+
+    public int connectTimeout() {
+        return connectTimeout;
+    }
+
+    public int readTimeout() {
+        return readTimeout;
+    }
+
+    public long totalTimeout() {
+        return totalTimeout;
+    }
+
+}
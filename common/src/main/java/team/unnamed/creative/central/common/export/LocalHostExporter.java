@@ -26,10 +26,10 @@ package team.unnamed.creative.central.common.export;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.central.common.pack.DeterministicResourcePackWriter;
 import team.unnamed.creative.central.export.ResourcePackExporter;
 import team.unnamed.creative.central.export.ResourcePackLocation;
 import team.unnamed.creative.central.server.CentralResourcePackServer;
-import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
 
 import java.net.URI;
 import java.util.logging.Logger;
@@ -46,6 +46,24 @@ public class LocalHostExporter implements ResourcePackExporter {
 
     @Override
     public @Nullable ResourcePackLocation export(ResourcePack resourcePack) {
+        // build resource pack in memory
+        return export(resourcePack, DeterministicResourcePackWriter.build(resourcePack));
+    }
+
+    @Override
+    public @Nullable ResourcePackLocation export(ResourcePack resourcePack, BuiltResourcePack pack) {
+        return serve(pack);
+    }
+
+    /**
+     * Serves the given, already built, resource-pack from the
+     * local resource-pack server.
+     *
+     * @param pack The built resource-pack
+     * @return The location of the served resource-pack, null
+     * if the server is closed
+     */
+    public @Nullable ResourcePackLocation serve(BuiltResourcePack pack) {
 
         if (!server.isOpen()) {
             logger.severe(
@@ -55,9 +73,6 @@ public class LocalHostExporter implements ResourcePackExporter {
             return null;
         }
 
-        // build resource pack in memory
-        BuiltResourcePack pack = MinecraftResourcePackWriter.minecraft().build(resourcePack);
-
         server.resourcePack(pack);
 
         URI uri = URI.create(String.format(
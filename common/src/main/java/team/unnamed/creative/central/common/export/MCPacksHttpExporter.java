@@ -23,23 +23,21 @@
  */
 package team.unnamed.creative.central.common.export;
 
+import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.central.common.pack.DeterministicResourcePackWriter;
 import team.unnamed.creative.central.common.util.HttpUtil;
 import team.unnamed.creative.central.export.ResourcePackExporter;
 import team.unnamed.creative.central.export.ResourcePackLocation;
-import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
-import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.security.DigestOutputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Fluent-style class for exporting resource
@@ -52,74 +50,56 @@ public class MCPacksHttpExporter implements ResourcePackExporter {
     private static final URL UPLOAD_URL = HttpUtil.url("https://mc-packs.net/");
     private static final String DOWNLOAD_URL_TEMPLATE = "https://download.mc-packs.net/pack/%HASH%.zip";
 
+    private final HttpTimeouts timeouts;
+
+    public MCPacksHttpExporter(HttpTimeouts timeouts) {
+        this.timeouts = requireNonNull(timeouts, "timeouts");
+    }
+
+    public MCPacksHttpExporter() {
+        this(HttpTimeouts.DEFAULT);
+    }
+
     @Override
     public ResourcePackLocation export(ResourcePack resourcePack) throws IOException {
+        return export(resourcePack, DeterministicResourcePackWriter.build(resourcePack));
+    }
+
+    @Override
+    public ResourcePackLocation export(ResourcePack resourcePack, BuiltResourcePack pack) throws IOException {
+        // run in the current thread, still bounded by the timeouts
+        return AsyncHttpCall.await(exportAsync(resourcePack, pack, Runnable::run));
+    }
 
-        HttpURLConnection connection = (HttpURLConnection) UPLOAD_URL.openConnection();
+    @Override
+    public CompletableFuture<ResourcePackLocation> exportAsync(ResourcePack resourcePack, BuiltResourcePack pack, Executor executor) {
+        return AsyncHttpCall.start(executor, timeouts, call -> upload(call, pack));
+    }
 
-        connection.setConnectTimeout(10000);
+    private ResourcePackLocation upload(AsyncHttpCall<?> call, BuiltResourcePack pack) throws IOException {
 
-        connection.setRequestMethod("POST");
-        connection.setDoOutput(true);
+        // MCPacks addresses packs by their hash, so the pack may already
+        // be there (e.g. uploaded by a previous run, or another server)
+        String url = DOWNLOAD_URL_TEMPLATE.replace("%HASH%", pack.hash());
+        if (call.exists(HttpUtil.url(url))) {
+            return ResourcePackLocation.of(URI.create(url), pack.hash());
+        }
 
-        final String multipartBoundary = HttpUtil.generateBoundary();
+        HttpURLConnection connection = call.open(UPLOAD_URL);
 
+        connection.setRequestMethod("POST");
         connection.setRequestProperty("User-Agent", "creative-central");
         connection.setRequestProperty("Charset", "utf-8");
-        connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + multipartBoundary);
-
-        String hashString;
-
-        // write http request body
-        try (OutputStream output = connection.getOutputStream()) {
-            output.write((
-                    "--" + multipartBoundary + HttpUtil.LINE_FEED
-                    + "Content-Disposition: form-data; name=\"file\"; filename=\"pack.zip\"" + HttpUtil.LINE_FEED
-                    + "Content-Type: application/zip" + HttpUtil.LINE_FEED + HttpUtil.LINE_FEED
-            ).getBytes(StandardCharsets.UTF_8));
-
-            MessageDigest digest;
-
-            try {
-                digest = MessageDigest.getInstance("SHA-1");
-            } catch (NoSuchAlgorithmException e) {
-                throw new IOException("Cannot find SHA-1 algorithm");
-            }
-
-
-            FileTreeWriter treeOutput = FileTreeWriter.zip(new ZipOutputStream(new DigestOutputStream(output, digest)));
-            try {
-                MinecraftResourcePackWriter.minecraft().write(treeOutput, resourcePack);
-            } finally {
-                treeOutput.finish();
-            }
-
-            byte[] hash = digest.digest();
-            int len = hash.length;
-            StringBuilder hashBuilder = new StringBuilder(len * 2);
-            for (byte b : hash) {
-                int part1 = (b >> 4) & 0xF;
-                int part2 = b & 0xF;
-                hashBuilder
-                        .append(hex(part1))
-                        .append(hex(part2));
-            }
-
-            hashString = hashBuilder.toString();
-
-            output.write((HttpUtil.LINE_FEED + "--" + multipartBoundary + "--" + HttpUtil.LINE_FEED).getBytes(StandardCharsets.UTF_8));
-        }
+
+        // stream the already built pack, without buffering the body
+        new MultipartBody()
+                .file("file", "pack.zip", "application/zip", pack.data())
+                .send(connection);
 
         // execute request and close, no response expected
         connection.getInputStream().close();
 
-        String url = DOWNLOAD_URL_TEMPLATE.replace("%HASH%", hashString);
-
-        return ResourcePackLocation.of(URI.create(url), hashString);
-    }
-
-    private char hex(int c) {
-        return "0123456789abcdef".charAt(c);
+        return ResourcePackLocation.of(URI.create(url), pack.hash());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.central.common.util.HttpUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code multipart/form-data} request body that is streamed to
+ * the connection with a known length, so that {@link HttpURLConnection}
+ * doesn't buffer a full copy of it in memory before sending it.
+ */
+final class MultipartBody {
+
+    private final String boundary = HttpUtil.generateBoundary();
+    private final List<Writable> parts = new ArrayList<>();
+    private long length;
+
+    /**
+     * Adds a text field to this body.
+     *
+     * @param name The field name
+     * @param value The field value
+     * @return This body
+     */
+    @NotNull MultipartBody field(final @NotNull String name, final @NotNull String value) {
+        bytes("--" + boundary + HttpUtil.LINE_FEED
+                + "Content-Disposition: form-data; name=\"" + name + "\"" + HttpUtil.LINE_FEED + HttpUtil.LINE_FEED
+                + value + HttpUtil.LINE_FEED);
+        return this;
+    }
+
+    /**
+     * Adds a file field to this body.
+     *
+     * @param name The field name
+     * @param fileName The file name
+     * @param contentType The file content type
+     * @param data The file data
+     * @return This body
+     * @throws IOException If the file data length cannot be computed
+     */
+    @NotNull MultipartBody file(
+            final @NotNull String name,
+            final @NotNull String fileName,
+            final @NotNull String contentType,
+            final @NotNull Writable data
+    ) throws IOException {
+        bytes("--" + boundary + HttpUtil.LINE_FEED
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"" + HttpUtil.LINE_FEED
+                + "Content-Type: " + contentType + HttpUtil.LINE_FEED + HttpUtil.LINE_FEED);
+
+        // count the data bytes without keeping them
+        final CountingOutputStream counter = new CountingOutputStream();
+        data.write(counter);
+        parts.add(data);
+        length += counter.count;
+
+        bytes(HttpUtil.LINE_FEED);
+        return this;
+    }
+
+    /**
+     * Writes this body to the given connection, setting its
+     * content type and length. No more parts can be added
+     * after calling this method.
+     *
+     * @param connection The connection
+     * @throws IOException If writing fails
+     */
+    void send(final @NotNull HttpURLConnection connection) throws IOException {
+        bytes("--" + boundary + "--" + HttpUtil.LINE_FEED);
+
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
+        connection.setFixedLengthStreamingMode(length);
+
+        try (final OutputStream output = connection.getOutputStream()) {
+            for (final Writable part : parts) {
+                part.write(output);
+            }
+        }
+    }
+
+    private void bytes(final @NotNull String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        parts.add(Writable.bytes(bytes));
+        length += bytes.length;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+
+}
@@ -27,22 +27,20 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.base.Writable;
-import team.unnamed.creative.central.common.util.HttpUtil;
+import team.unnamed.creative.central.common.pack.DeterministicResourcePackWriter;
 import team.unnamed.creative.central.export.ResourcePackExporter;
 import team.unnamed.creative.central.export.ResourcePackLocation;
-import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
-import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.requireNonNull;
 
@@ -53,10 +51,16 @@ public final class PolymathExporter implements ResourcePackExporter {
     // never ends with '/', always starts with 'http://' or 'https://'
     private final String baseUrl;
     private final String secret;
+    private final HttpTimeouts timeouts;
 
-    public PolymathExporter(final @NotNull String baseUrl, final @NotNull String secret) {
+    public PolymathExporter(final @NotNull String baseUrl, final @NotNull String secret, final @NotNull HttpTimeouts timeouts) {
         this.baseUrl = reformatUrl(baseUrl);
         this.secret = requireNonNull(secret, "secret");
+        this.timeouts = requireNonNull(timeouts, "timeouts");
+    }
+
+    public PolymathExporter(final @NotNull String baseUrl, final @NotNull String secret) {
+        this(baseUrl, secret, HttpTimeouts.DEFAULT);
     }
 
     private String reformatUrl(@NotNull String baseUrl) {
@@ -72,42 +76,37 @@ public final class PolymathExporter implements ResourcePackExporter {
 
     @Override
     public @NotNull ResourcePackLocation export(final ResourcePack pack) throws IOException {
-        final URL url = new URL(baseUrl + "/upload");
-        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        return export(pack, DeterministicResourcePackWriter.build(pack));
+    }
 
-        connection.setRequestMethod("POST");
-        connection.setDoOutput(true);
+    @Override
+    public @NotNull ResourcePackLocation export(final ResourcePack pack, final BuiltResourcePack builtPack) throws IOException {
+        // run in the current thread, still bounded by the timeouts
+        return AsyncHttpCall.await(exportAsync(pack, builtPack, Runnable::run));
+    }
 
-        final String multipartBoundary = HttpUtil.generateBoundary();
+    @Override
+    public @NotNull CompletableFuture<ResourcePackLocation> exportAsync(
+            final @NotNull ResourcePack pack,
+            final @NotNull BuiltResourcePack builtPack,
+            final @NotNull Executor executor
+    ) {
+        return AsyncHttpCall.start(executor, timeouts, call -> upload(call, builtPack));
+    }
 
+    private @NotNull ResourcePackLocation upload(final @NotNull AsyncHttpCall<?> call, final @NotNull BuiltResourcePack builtPack) throws IOException {
+        final URL url = new URL(baseUrl + "/upload");
+        final HttpURLConnection connection = call.open(url);
+
+        connection.setRequestMethod("POST");
         connection.setRequestProperty("User-Agent", "creative-central");
         connection.setRequestProperty("Charset", "utf-8");
-        connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + multipartBoundary);
-
-        try (final OutputStream output = connection.getOutputStream()) {
-            // write "id" field
-            output.write((
-                    "--" + multipartBoundary + HttpUtil.LINE_FEED
-                    + "Content-Disposition: form-data; name=\"id\"" + HttpUtil.LINE_FEED + HttpUtil.LINE_FEED
-                    + secret + HttpUtil.LINE_FEED
-            ).getBytes(StandardCharsets.UTF_8));
-
-            // write "pack" field
-            output.write((
-                    "--" + multipartBoundary + HttpUtil.LINE_FEED
-                            + "Content-Disposition: form-data; name=\"pack\"; filename=\"pack.zip\"" + HttpUtil.LINE_FEED
-                            + "Content-Type: application/zip"+ HttpUtil.LINE_FEED + HttpUtil.LINE_FEED
-            ).getBytes(StandardCharsets.UTF_8));
-
-            final FileTreeWriter treeOutput = FileTreeWriter.zip(new ZipOutputStream(output));
-            try {
-                MinecraftResourcePackWriter.minecraft().write(treeOutput, pack);
-            } finally {
-                treeOutput.finish();
-            }
-            // end
-            output.write((HttpUtil.LINE_FEED + "--" + multipartBoundary + "--" + HttpUtil.LINE_FEED).getBytes(StandardCharsets.UTF_8));
-        }
+
+        // stream the already built pack, without buffering the body
+        new MultipartBody()
+                .field("id", secret)
+                .file("pack", "pack.zip", "application/zip", builtPack.data())
+                .send(connection);
 
         final String response = Writable.inputStream(connection::getInputStream).toUTF8String();
         final JsonObject responseObject = JSON_PARSER.parse(response).getAsJsonObject();
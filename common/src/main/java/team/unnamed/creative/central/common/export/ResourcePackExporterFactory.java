@@ -27,7 +27,12 @@ import team.unnamed.creative.central.export.ResourcePackExporter;
 import team.unnamed.creative.central.server.CentralResourcePackServer;
 
 import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 public final class ResourcePackExporterFactory {
@@ -40,6 +45,32 @@ public final class ResourcePackExporterFactory {
             File root,
             CentralResourcePackServer server,
             Logger logger
+    ) {
+        return create(key, root, server, logger, HttpTimeouts.DEFAULT);
+    }
+
+    public static ResourcePackExporter createComposite(
+            List<String> keys,
+            CompositeExporter.Policy policy,
+            Executor executor,
+            Function<String, ResourcePackExporter> targetFactory,
+            Logger logger
+    ) {
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        for (String key : keys) {
+            if (targets.put(key, targetFactory.apply(key)) != null) {
+                throw new IllegalArgumentException("Duplicated export target: '" + key + "'");
+            }
+        }
+        return new CompositeExporter(targets, policy, executor, logger);
+    }
+
+    public static ResourcePackExporter create(
+            String key,
+            File root,
+            CentralResourcePackServer server,
+            Logger logger,
+            HttpTimeouts timeouts
     ) {
         key = key.toLowerCase(Locale.ROOT).trim();
 
@@ -49,13 +80,13 @@ public final class ResourcePackExporterFactory {
                 throw new IllegalArgumentException("Invalid polymath arguments provided: '" + key
                         + "'. Correct format: 'polymath <url> <secret>'");
             }
-            return new PolymathExporter(args[0], args[1]);
+            return new PolymathExporter(args[0], args[1], timeouts);
         }
 
         switch (key) {
             case "mcpacks":
             case "mc-packs":
-                return new MCPacksHttpExporter();
+                return new MCPacksHttpExporter(timeouts);
             case "localhost":
                 return new LocalHostExporter(server, logger);
             default:
@@ -0,0 +1,148 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.central.common.config.ExportConfiguration;
+import team.unnamed.creative.central.common.pack.DeterministicResourcePackWriter;
+import team.unnamed.creative.central.export.ResourcePackExporter;
+import team.unnamed.creative.central.export.ResourcePackLocation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Wraps a remote exporter, retrying failed exports with exponential
+ * backoff and jitter, and skipping exports while the remote is down
+ * (see {@link CircuitBreaker}).
+ *
+ * <p>When the export can't be done, the last good location (the
+ * location of a previously exported resource-pack) is returned, so
+ * that players keep receiving a resource-pack. Note that its hash
+ * is the hash of that previous resource-pack.</p>
+ */
+public final class RetryingExporter implements ResourcePackExporter {
+
+    private final ResourcePackExporter delegate;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final CircuitBreaker circuitBreaker;
+    private final @Nullable ResourcePackLocation fallback;
+    private final Logger logger;
+
+    public RetryingExporter(
+            final @NotNull ResourcePackExporter delegate,
+            final @NotNull ExportConfiguration.RetryConfiguration config,
+            final @NotNull CircuitBreaker circuitBreaker,
+            final @Nullable ResourcePackLocation fallback,
+            final @NotNull Logger logger
+    ) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.maxAttempts = Math.max(1, config.maxAttempts());
+        this.initialBackoff = Math.max(0, config.initialBackoff()) * 1000L;
+        this.maxBackoff = Math.max(0, config.maxBackoff()) * 1000L;
+        this.circuitBreaker = requireNonNull(circuitBreaker, "circuitBreaker");
+        this.fallback = fallback;
+        this.logger = requireNonNull(logger, "logger");
+    }
+
+    @Override
+    public @Nullable ResourcePackLocation export(final ResourcePack resourcePack) throws IOException {
+        return export(resourcePack, DeterministicResourcePackWriter.build(resourcePack));
+    }
+
+    @Override
+    public @Nullable ResourcePackLocation export(final @NotNull ResourcePack resourcePack, final @NotNull BuiltResourcePack builtResourcePack) throws IOException {
+        if (!circuitBreaker.allowRequest()) {
+            return fallback(new IOException("The remote resource-pack server is down, not trying"
+                    + " to export until the circuit breaker is half-open"));
+        }
+
+        IOException failure = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            if (attempt > 0) {
+                sleep(backoff(attempt));
+            }
+            try {
+                final ResourcePackLocation location = delegate.export(resourcePack, builtResourcePack);
+                circuitBreaker.recordSuccess();
+                return location;
+            } catch (final RuntimeException e) {
+                // never leave the circuit breaker waiting for a result
+                circuitBreaker.recordFailure();
+                throw e;
+            } catch (final IOException e) {
+                logger.log(Level.WARNING, "Failed to export resource pack (attempt "
+                        + (attempt + 1) + "/" + maxAttempts + "): " + e.getMessage());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        circuitBreaker.recordFailure();
+        return fallback(failure);
+    }
+
+    private @NotNull ResourcePackLocation fallback(final @NotNull IOException failure) throws IOException {
+        if (fallback == null) {
+            throw failure;
+        }
+        logger.log(Level.WARNING, "Couldn't export the resource pack, using the last exported"
+                + " resource pack (" + fallback.uri() + ") instead", failure);
+        return fallback;
+    }
+
+    // exponential backoff with full jitter, random between zero and
+    // initialBackoff * 2^(attempt - 1), capped to maxBackoff
+    long backoff(final int attempt) {
+        final long exponential = initialBackoff << Math.min(attempt - 1, 30);
+        final long bound = Math.min(maxBackoff, exponential < 0 ? maxBackoff : exponential);
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private static void sleep(final long millis) throws IOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry the export");
+        }
+    }
+
+}
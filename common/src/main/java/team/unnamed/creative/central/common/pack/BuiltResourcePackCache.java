@@ -0,0 +1,223 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.central.export.ResourcePackLocation;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Persists the last built and exported resource-pack to disk, so
+ * that it can be served and sent right after a restart, while the
+ * resource-pack is being generated again.
+ *
+ * <p>The cache folder contains the built zip file ({@code pack.zip})
+ * and a JSON file ({@code pack.json}) with its hash, a hash of the
+ * exporter (the export type may contain secrets, e.g. the Polymath
+ * secret, so it is never stored) and the location it was exported
+ * to.</p>
+ */
+public final class BuiltResourcePackCache {
+    private static final JsonParser JSON_PARSER = new JsonParser();
+
+    private final Path zipFile;
+    private final Path metadataFile;
+
+    public BuiltResourcePackCache(final @NotNull File folder) {
+        requireNonNull(folder, "folder");
+        this.zipFile = folder.toPath().resolve("pack.zip");
+        this.metadataFile = folder.toPath().resolve("pack.json");
+    }
+
+    /**
+     * Loads the cached resource-pack, if any.
+     *
+     * @return The cached resource-pack, or null if there is
+     * no cache or if it is invalid (e.g. the metadata file is
+     * corrupt or the zip file does not match the stored hash)
+     * @throws IOException If reading the cache fails
+     */
+    public @Nullable Entry load() throws IOException {
+        if (!Files.isRegularFile(zipFile) || !Files.isRegularFile(metadataFile)) {
+            return null;
+        }
+
+        final byte[] data = Files.readAllBytes(zipFile);
+        final String hash = DeterministicResourcePackWriter.sha1(data);
+        final String exporter;
+        ResourcePackLocation location = null;
+        try {
+            final JsonObject metadata = JSON_PARSER.parse(new String(Files.readAllBytes(metadataFile), StandardCharsets.UTF_8)).getAsJsonObject();
+            if (!metadata.has("hash") || !hash.equals(metadata.get("hash").getAsString())) {
+                // zip file was modified or partially written
+                return null;
+            }
+
+            if (!metadata.has("exporter")) {
+                return null;
+            }
+            exporter = metadata.get("exporter").getAsString();
+
+            final JsonElement uri = metadata.get("uri");
+            if (uri != null && !uri.isJsonNull()) {
+                final String locationHash = metadata.has("location-hash") ? metadata.get("location-hash").getAsString() : hash;
+                final List<URI> mirrors = new ArrayList<>();
+                if (metadata.has("mirrors")) {
+                    for (final JsonElement mirror : metadata.get("mirrors").getAsJsonArray()) {
+                        mirrors.add(URI.create(mirror.getAsString()));
+                    }
+                }
+                location = ResourcePackLocation.of(URI.create(uri.getAsString()), locationHash, mirrors);
+            }
+        } catch (final RuntimeException e) {
+            // corrupt metadata, e.g. invalid json or unexpected types
+            return null;
+        }
+
+        return new Entry(exporter, BuiltResourcePack.of(Writable.bytes(data), hash), location);
+    }
+
+    /**
+     * Saves the given resource-pack to the cache, replacing
+     * the previously cached one.
+     *
+     * @param exportType The export type used to export the resource-pack,
+     *                   only a hash of it is stored
+     * @param pack The built resource-pack
+     * @param location The location the resource-pack was exported to,
+     *                 null if it was not exported to a hosted server
+     * @throws IOException If writing the cache fails
+     */
+    public void save(
+            final @NotNull String exportType,
+            final @NotNull BuiltResourcePack pack,
+            final @Nullable ResourcePackLocation location
+    ) throws IOException {
+        requireNonNull(exportType, "exportType");
+        requireNonNull(pack, "pack");
+
+        final JsonObject metadata = new JsonObject();
+        metadata.addProperty("exporter", exporterHash(exportType));
+        metadata.addProperty("hash", pack.hash());
+        if (location != null) {
+            metadata.addProperty("uri", location.uri().toString());
+            metadata.addProperty("location-hash", location.hash());
+            if (!location.mirrors().isEmpty()) {
+                final JsonArray mirrors = new JsonArray();
+                for (final URI mirror : location.mirrors()) {
+                    mirrors.add(mirror.toString());
+                }
+                metadata.add("mirrors", mirrors);
+            }
+        }
+
+        Files.createDirectories(zipFile.getParent());
+        write(zipFile, pack.data().toByteArray());
+        write(metadataFile, metadata.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deletes the cached resource-pack, if any.
+     *
+     * @throws IOException If deleting the cache fails
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(metadataFile);
+        Files.deleteIfExists(zipFile);
+    }
+
+    private static void write(final @NotNull Path target, final byte[] data) throws IOException {
+        // write to a temporary file and move it, so that a crash never
+        // leaves a partially written file in place of the old one
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temporary, data);
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static @NotNull String exporterHash(final @NotNull String exportType) {
+        return DeterministicResourcePackWriter.sha1(exportType.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A cached resource-pack.
+     */
+    public static final class Entry {
+        private final String exporter;
+        private final BuiltResourcePack pack;
+        private final @Nullable ResourcePackLocation location;
+
+        private Entry(
+                final @NotNull String exporter,
+                final @NotNull BuiltResourcePack pack,
+                final @Nullable ResourcePackLocation location
+        ) {
+            this.exporter = exporter;
+            this.pack = pack;
+            this.location = location;
+        }
+
+        /**
+         * Determines whether this resource-pack was exported
+         * with the given export type.
+         *
+         * @param exportType The export type
+         * @return True if it was exported with the export type
+         */
+        public boolean exportedWith(final @NotNull String exportType) {
+            return exporter.equals(exporterHash(exportType));
+        }
+
+        public @NotNull BuiltResourcePack pack() {
+            return pack;
+        }
+
+        public @Nullable ResourcePackLocation location() {
+            return location;
+        }
+    }
+
+}
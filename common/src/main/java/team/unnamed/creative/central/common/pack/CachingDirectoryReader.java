@@ -0,0 +1,281 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.pack.PackMeta;
+import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads resource-packs from a directory, caching the parsed
+ * resources of every file between reads.
+ *
+ * <p>Before every read, the directory is scanned and the last
+ * modification time and size of every file is compared to the
+ * ones from the previous read. Only the added or changed files
+ * are parsed again, using the given resource-pack reader, and
+ * the resources of removed files are dropped.</p>
+ *
+ * <p>Files are cached in units: a file and its {@code .mcmeta}
+ * sibling (e.g. a texture and its metadata) are always parsed
+ * together, since the reader needs both to build the resource.</p>
+ *
+ * <p>Every read returns a new, mutable resource-pack that shares the
+ * (immutable) parsed resources, so callers can freely modify it
+ * without affecting the cache. Assembling it copies a reference to
+ * every cached resource, which is cheap compared to parsing, so it
+ * is done on every read instead of patching the previous result.</p>
+ *
+ * <p>The result does not depend on the order in which units are
+ * parsed: every file belongs to exactly one unit, so units never
+ * override each other's resources, and they are always merged in
+ * path order.</p>
+ */
+public final class CachingDirectoryReader {
+
+    private static final String METADATA_EXTENSION = ".mcmeta";
+
+    private final MinecraftResourcePackReader reader;
+
+    private @Nullable File lastDirectory;
+    // sorted, so that the resource-pack is always assembled in the same order
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    public CachingDirectoryReader(final @NotNull MinecraftResourcePackReader reader) {
+        this.reader = requireNonNull(reader, "reader");
+    }
+
+    /**
+     * Reads the resource-pack in the given {@code directory}, only
+     * parsing the files that changed since the last read.
+     *
+     * @param directory The resource-pack root directory
+     * @return A new resource-pack with the read resources
+     */
+    public synchronized @NotNull ResourcePack read(final @NotNull File directory) {
+        requireNonNull(directory, "directory");
+        if (!directory.equals(lastDirectory)) {
+            entries.clear();
+            lastDirectory = directory;
+        }
+
+        final Map<String, Map<String, FileStamp>> units = scan(directory);
+
+        // drop the resources of removed files
+        entries.keySet().retainAll(units.keySet());
+
+        // parse the added or changed files
+        for (final Map.Entry<String, Map<String, FileStamp>> unit : units.entrySet()) {
+            final Entry entry = entries.get(unit.getKey());
+            if (entry == null || !entry.files.equals(unit.getValue())) {
+                final ResourcePack resourcePack;
+                try (final FileTreeReader files = new UnitFileTreeReader(directory, unit.getValue().keySet().iterator())) {
+                    resourcePack = reader.read(files);
+                }
+                entries.put(unit.getKey(), new Entry(unit.getValue(), resourcePack));
+            }
+        }
+
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+        for (final Entry entry : entries.values()) {
+            merge(resourcePack, entry.resourcePack);
+        }
+        return resourcePack;
+    }
+
+    /**
+     * Invalidates the cached resources, so that the next read
+     * parses the whole directory again.
+     */
+    public synchronized void invalidate() {
+        lastDirectory = null;
+        entries.clear();
+    }
+
+    private static void merge(final @NotNull ResourcePack target, final @NotNull ResourcePack source) {
+        target.merge(source, MergeStrategy.override());
+
+        final Writable icon = source.icon();
+        if (icon != null) {
+            target.icon(icon);
+        }
+        final PackMeta meta = source.packMeta();
+        if (meta != null) {
+            target.packMeta(meta);
+        }
+    }
+
+    private static @NotNull String unitOf(final @NotNull String path) {
+        return path.endsWith(METADATA_EXTENSION)
+                ? path.substring(0, path.length() - METADATA_EXTENSION.length())
+                : path;
+    }
+
+    private static @NotNull Map<String, Map<String, FileStamp>> scan(final @NotNull File directory) {
+        final Map<String, Map<String, FileStamp>> units = new TreeMap<>();
+        final Path root = directory.toPath();
+        if (!Files.isDirectory(root)) {
+            return units;
+        }
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                    final String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+                    units.computeIfAbsent(unitOf(path), k -> new TreeMap<>()).put(
+                            path,
+                            new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size())
+                    );
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to scan resource-pack directory: " + directory, e);
+        }
+        return units;
+    }
+
+    private static final class Entry {
+
+        private final Map<String, FileStamp> files;
+        private final ResourcePack resourcePack;
+
+        private Entry(final @NotNull Map<String, FileStamp> files, final @NotNull ResourcePack resourcePack) {
+            this.files = files;
+            this.resourcePack = resourcePack;
+        }
+
+    }
+
+    /**
+     * A {@link FileTreeReader} over a subset of the files in a
+     * resource-pack directory, so that they can be parsed by the
+     * resource-pack reader without walking the whole directory.
+     */
+    private static final class UnitFileTreeReader implements FileTreeReader {
+
+        private final File root;
+        private final Iterator<String> paths;
+        private @Nullable String current;
+        private @Nullable InputStream input;
+
+        private UnitFileTreeReader(final @NotNull File root, final @NotNull Iterator<String> paths) {
+            this.root = root;
+            this.paths = paths;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return paths.hasNext();
+        }
+
+        @Override
+        public String next() {
+            if (!paths.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            closeInput();
+            current = paths.next();
+            return current;
+        }
+
+        @Override
+        public InputStream input() {
+            if (current == null) {
+                throw new IllegalStateException("No current file, call next() first");
+            }
+            closeInput();
+            try {
+                input = new FileInputStream(new File(root, current));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to open resource-pack file: " + current, e);
+            }
+            return input;
+        }
+
+        @Override
+        public void close() {
+            closeInput();
+        }
+
+        private void closeInput() {
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (final IOException ignored) {
+                }
+                input = null;
+            }
+        }
+
+    }
+
+    private static final class FileStamp {
+
+        private final long lastModified;
+        private final long size;
+
+        private FileStamp(final long lastModified, final long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FileStamp)) return false;
+            final FileStamp that = (FileStamp) o;
+            return lastModified == that.lastModified && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(lastModified) + Long.hashCode(size);
+        }
+
+    }
+
+}
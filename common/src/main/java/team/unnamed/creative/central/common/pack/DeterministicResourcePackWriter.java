@@ -0,0 +1,120 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds resource-packs into zip files deterministically, equal
+ * resource-packs always produce the same bytes, and so, the same
+ * SHA-1 hash, which lets clients reuse their cached copy.
+ *
+ * @see DeterministicZipOutputStream
+ */
+public final class DeterministicResourcePackWriter {
+
+    private DeterministicResourcePackWriter() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Builds the given resource-pack into a zip file in memory
+     * and computes its SHA-1 hash while it is written.
+     *
+     * @param resourcePack The resource-pack to build
+     * @return The built resource-pack
+     */
+    public static @NotNull BuiltResourcePack build(final @NotNull ResourcePack resourcePack) {
+        requireNonNull(resourcePack, "resourcePack");
+
+        final Buffer output = new Buffer();
+        final MessageDigest digest = sha1Digest();
+        final DeterministicZipOutputStream zip = new DeterministicZipOutputStream(new DigestOutputStream(output, digest));
+        final FileTreeWriter treeWriter = FileTreeWriter.zip(zip);
+        try {
+            MinecraftResourcePackWriter.minecraft().write(treeWriter, resourcePack);
+        } catch (final RuntimeException e) {
+            // don't write the entries, just release the spool file
+            try {
+                zip.discard();
+            } catch (final IOException discardFailure) {
+                e.addSuppressed(discardFailure);
+            }
+            throw e;
+        }
+        treeWriter.finish();
+
+        return BuiltResourcePack.of(output.writable(), hex(digest.digest()));
+    }
+
+    static @NotNull String sha1(final byte[] data) {
+        return hex(sha1Digest().digest(data));
+    }
+
+    private static @NotNull MessageDigest sha1Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot find SHA-1 algorithm", e);
+        }
+    }
+
+    private static @NotNull String hex(final byte[] hash) {
+        final StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (final byte b : hash) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    // exposes the written bytes without copying them again
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        private Buffer() {
+            super(8192);
+        }
+
+        private @NotNull Writable writable() {
+            final byte[] data = buf;
+            final int length = count;
+            return output -> output.write(data, 0, length);
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A {@link ZipOutputStream} that always produces the same bytes for
+ * the same set of entries, no matter the order in which they were
+ * written or the time when they were written.
+ *
+ * <p>Entry data is spooled to a temporary file, not kept in memory,
+ * and the entries are streamed from there when the stream is finished,
+ * sorted by name, with a fixed modification time, no extra fields or
+ * comments and the default compression level.</p>
+ */
+final class DeterministicZipOutputStream extends ZipOutputStream {
+
+    // 1980-02-01 00:00 in the default time-zone, zip entries store
+    // their time in local (DOS) time, so this is always written as
+    // the same value, independently of the server's time-zone
+    static final long ENTRY_TIME = new GregorianCalendar(1980, 1, 1).getTimeInMillis();
+
+    // the position and length of every entry data in the spool file
+    private final Map<String, long[]> entries = new TreeMap<>();
+
+    private @Nullable Path spoolFile;
+    private @Nullable RandomAccessFile spool;
+
+    private String currentName;
+    private long currentStart = -1;
+    private boolean finished;
+
+    DeterministicZipOutputStream(final @NotNull OutputStream out) {
+        super(out);
+        super.setMethod(DEFLATED);
+        super.setLevel(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @Override
+    public void setMethod(final int method) {
+        // ignored, compression settings are fixed
+    }
+
+    @Override
+    public void setLevel(final int level) {
+        // ignored, compression settings are fixed
+    }
+
+    @Override
+    public void setComment(final String comment) {
+        // ignored, comments are never written
+    }
+
+    @Override
+    public void putNextEntry(final @NotNull ZipEntry entry) throws IOException {
+        if (finished) {
+            throw new IOException("Stream already finished");
+        }
+        closeEntry();
+        if (entries.containsKey(entry.getName())) {
+            throw new ZipException("duplicate entry: " + entry.getName());
+        }
+        if (spool == null) {
+            spoolFile = Files.createTempFile("creative-central-", ".spool");
+            spool = new RandomAccessFile(spoolFile.toFile(), "rw");
+        }
+        currentName = entry.getName();
+        currentStart = spool.length();
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (finished) {
+            super.write(b, off, len);
+            return;
+        }
+        if (currentStart < 0 || spool == null) {
+            throw new ZipException("no current ZIP entry");
+        }
+        spool.write(b, off, len);
+    }
+
+    @Override
+    public void closeEntry() throws IOException {
+        if (finished) {
+            super.closeEntry();
+            return;
+        }
+        if (currentStart >= 0 && spool != null) {
+            entries.put(currentName, new long[] { currentStart, spool.getFilePointer() - currentStart });
+            currentName = null;
+            currentStart = -1;
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        closeEntry();
+        finished = true;
+        try {
+            final byte[] buffer = new byte[8192];
+            for (final Map.Entry<String, long[]> entry : entries.entrySet()) {
+                final ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setTime(ENTRY_TIME);
+                super.putNextEntry(zipEntry);
+                copy(entry.getValue()[0], entry.getValue()[1], buffer);
+                super.closeEntry();
+            }
+            entries.clear();
+            super.finish();
+        } finally {
+            discard();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            discard();
+        }
+    }
+
+    /**
+     * Deletes the spooled entries without writing them, used
+     * when building the zip failed.
+     *
+     * @throws IOException If deleting the spool file fails
+     */
+    void discard() throws IOException {
+        finished = true;
+        entries.clear();
+        if (spool != null) {
+            spool.close();
+            spool = null;
+        }
+        if (spoolFile != null) {
+            Files.deleteIfExists(spoolFile);
+            spoolFile = null;
+        }
+    }
+
+    private void copy(final long position, final long length, final byte[] buffer) throws IOException {
+        final RandomAccessFile spool = this.spool;
+        if (spool == null) {
+            throw new IllegalStateException("No spool file");
+        }
+        spool.seek(position);
+        long remaining = length;
+        while (remaining > 0) {
+            final int read = spool.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Spool file is shorter than expected");
+            }
+            super.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a single, satisfiable byte range of a resource
+ * requested using the HTTP {@code Range} header. Bounds are
+ * inclusive, as in the HTTP specification.
+ */
+final class ByteRange {
+
+    /**
+     * Sentinel value returned by {@link #parse} when the requested
+     * range can not be satisfied (should be answered with a 416)
+     */
+    static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private static final String UNIT_PREFIX = "bytes=";
+
+    private final int start;
+    private final int end;
+
+    private ByteRange(final int start, final int end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    int start() {
+        return start;
+    }
+
+    int end() {
+        return end;
+    }
+
+    int length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Parses the given {@code Range} header value for a resource
+     * with the given {@code length}.
+     *
+     * <p>Only single ranges are supported, multiple ranges and
+     * malformed (e.g. last position before the first one) or
+     * unknown-unit values are ignored, in which case
+     * {@code null} is returned and the full resource should be
+     * served, as allowed by RFC 9110.</p>
+     *
+     * @param header The range header value, may be null
+     * @param length The total length of the resource
+     * @return The parsed range, {@link #UNSATISFIABLE}, or null if
+     * the full resource should be served
+     */
+    static @Nullable ByteRange parse(final @Nullable String header, final int length) {
+        if (header == null || !header.startsWith(UNIT_PREFIX)) {
+            return null;
+        }
+
+        final String spec = header.substring(UNIT_PREFIX.length()).trim();
+        if (spec.indexOf(',') != -1) {
+            // multiple ranges, just serve everything
+            return null;
+        }
+
+        final int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+
+        final String first = spec.substring(0, dash).trim();
+        final String last = spec.substring(dash + 1).trim();
+
+        try {
+            if (first.isEmpty()) {
+                // suffix range, e.g. "bytes=-500", the last 500 bytes
+                if (last.isEmpty()) {
+                    return null;
+                }
+                final long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange((int) Math.max(0, length - suffixLength), length - 1);
+            }
+
+            final long start = Long.parseLong(first);
+            final long requestedEnd = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || requestedEnd < start) {
+                // invalid range syntax (RFC 9110, section 14.1.1), ignore it
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            final long end = Math.min(requestedEnd, length - 1);
+            return new ByteRange((int) start, (int) end);
+        } catch (final NumberFormatException ignored) {
+            // malformed range, ignore it
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ByteRange{" +
+                "start=" + start +
+                ", end=" + end +
+                '}';
+    }
+
+}
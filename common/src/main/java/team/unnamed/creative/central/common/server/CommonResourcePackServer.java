@@ -23,6 +23,7 @@
  */
 package team.unnamed.creative.central.common.server;
 
+import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,7 +34,20 @@ import team.unnamed.creative.server.handler.ResourcePackRequestHandler;
 import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
 
 public final class CommonResourcePackServer implements CentralResourcePackServer, ResourcePackRequestHandler {
 
@@ -41,17 +55,77 @@ public final class CommonResourcePackServer implements CentralResourcePackServer
     private @Nullable String address;
     private @Nullable String publicAddress;
     private int port = -1;
-    private @Nullable BuiltResourcePack resourcePack;
+    private @Nullable ExecutorService executor;
+    private volatile @Nullable DownloadLimiter limiter;
+    private volatile @Nullable ServedResourcePack resourcePack;
+    private volatile Collection<String> compression = Collections.singletonList("gzip");
     private boolean open;
 
+    // transfer statistics for compressed downloads
+    private final AtomicLong compressedDownloads = new AtomicLong();
+    private final AtomicLong savedBytes = new AtomicLong();
+
     @Override
     public @Nullable BuiltResourcePack resourcePack() {
-        return resourcePack;
+        final ServedResourcePack resourcePack = this.resourcePack;
+        return resourcePack == null ? null : resourcePack.source();
     }
 
     @Override
     public void resourcePack(@Nullable BuiltResourcePack resourcePack) {
-        this.resourcePack = resourcePack;
+        // materialize the resource-pack data (and its compressed
+        // variants) once, so that it can be shared by all the download
+        // requests
+        this.resourcePack = resourcePack == null ? null : new ServedResourcePack(resourcePack, compression, this.resourcePack);
+    }
+
+    /**
+     * Sets the content codings used to serve compressed downloads,
+     * affects only the resource-packs set after this call. Each
+     * enabled coding keeps a compressed copy of the resource-pack
+     * in memory.
+     *
+     * @param compression The enabled content codings, "gzip" and/or "deflate"
+     * @throws IllegalArgumentException If a content coding is unknown
+     */
+    public void compression(@NotNull Collection<String> compression) {
+        requireNonNull(compression, "compression");
+        final List<String> encodings = new ArrayList<>(compression.size());
+        for (final String name : compression) {
+            final String encoding = name.toLowerCase(Locale.ROOT).trim();
+            if (!encoding.equals("gzip") && !encoding.equals("deflate")) {
+                throw new IllegalArgumentException("Unknown resource-pack compression: '" + name
+                        + "'. Possible values: 'gzip', 'deflate'");
+            }
+            encodings.add(encoding);
+        }
+        this.compression = Collections.unmodifiableList(encodings);
+    }
+
+    /**
+     * Sets the executor used to handle the download requests, must
+     * be set before the server is opened. The server takes ownership
+     * of the executor and shuts it down when closed.
+     *
+     * @param executor The executor, or null to use the HTTP server
+     *                 default (single-threaded) executor
+     * @see RequestExecutors
+     */
+    public void executor(@Nullable ExecutorService executor) {
+        if (open) {
+            throw new IllegalStateException("The resource pack server is already open!");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the limiter for the downloads served by this server,
+     * can be changed at any time, affecting only new downloads.
+     *
+     * @param limiter The download limiter, or null to remove limits
+     */
+    public void limiter(@Nullable DownloadLimiter limiter) {
+        this.limiter = limiter;
     }
 
     @Override
@@ -73,6 +147,7 @@ public final class CommonResourcePackServer implements CentralResourcePackServer
         server = ResourcePackServer.server()
                 .address(address, port)
                 .handler(this)
+                .executor(executor)
                 .build();
         server.start();
     }
@@ -94,6 +169,7 @@ public final class CommonResourcePackServer implements CentralResourcePackServer
 
     @Override
     public void onRequest(final @Nullable ResourcePackDownloadRequest request, final @NotNull HttpExchange exchange) throws IOException {
+        final ServedResourcePack resourcePack = this.resourcePack;
         if (resourcePack == null) {
             byte[] response = "The resource-pack is not loaded yet, please wait...".getBytes(StandardCharsets.UTF_8);
             exchange.getResponseHeaders().set("Content-Type", "text/plain");
@@ -102,10 +178,159 @@ public final class CommonResourcePackServer implements CentralResourcePackServer
             return;
         }
 
-        final byte[] data = resourcePack.data().toByteArray();
-        exchange.getResponseHeaders().set("Content-Type", "application/zip");
-        exchange.sendResponseHeaders(200, data.length);
-        exchange.getResponseBody().write(data);
+        final Headers requestHeaders = exchange.getRequestHeaders();
+        final Headers responseHeaders = exchange.getResponseHeaders();
+        final ServedResourcePack.Variant variant = resourcePack.select(requestHeaders.getFirst("Accept-Encoding"));
+        responseHeaders.set("Content-Type", "application/zip");
+        responseHeaders.set("Accept-Ranges", "bytes");
+        responseHeaders.set("Vary", "Accept-Encoding");
+        responseHeaders.set("ETag", variant.entityTag());
+        responseHeaders.set("Last-Modified", resourcePack.lastModifiedHeader());
+        if (variant.encoding() != null) {
+            responseHeaders.set("Content-Encoding", variant.encoding());
+        }
+
+        if (isNotModified(requestHeaders, resourcePack, variant)) {
+            // client already has this exact resource-pack
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        final int length = variant.length();
+        @Nullable ByteRange range = ByteRange.parse(requestHeaders.getFirst("Range"), length);
+        if (range != null && !isRangeApplicable(requestHeaders.getFirst("If-Range"), resourcePack, variant)) {
+            // the client has a different version, send the full resource-pack
+            range = null;
+        }
+
+        if (range == ByteRange.UNSATISFIABLE) {
+            responseHeaders.set("Content-Range", "bytes */" + length);
+            exchange.sendResponseHeaders(416, -1);
+            return;
+        }
+
+        final int status;
+        final int offset;
+        final int count;
+        if (range == null) {
+            status = 200;
+            offset = 0;
+            count = length;
+        } else {
+            // resuming a partial download
+            status = 206;
+            offset = range.start();
+            count = range.length();
+            responseHeaders.set("Content-Range", "bytes " + range.start() + '-' + range.end() + '/' + length);
+        }
+
+        if ("HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+            responseHeaders.set("Content-Length", Integer.toString(count));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        final DownloadLimiter limiter = this.limiter;
+        if (limiter != null && !limiter.tryStart()) {
+            // no download slot was freed in time, tell the client to come back later
+            responseHeaders.clear();
+            responseHeaders.set("Retry-After", Integer.toString(limiter.retryAfter()));
+            exchange.sendResponseHeaders(503, -1);
+            return;
+        }
+
+        try {
+            exchange.sendResponseHeaders(status, count);
+            final OutputStream body = limiter == null
+                    ? exchange.getResponseBody()
+                    : limiter.throttle(exchange.getResponseBody());
+            variant.write(body, offset, count);
+        } finally {
+            if (limiter != null) {
+                limiter.finish();
+            }
+        }
+
+        if (range == null && variant.savedBytes() > 0) {
+            compressedDownloads.incrementAndGet();
+            savedBytes.addAndGet(variant.savedBytes());
+        }
+    }
+
+    /**
+     * Returns the number of full downloads that were served
+     * using a compressed variant of the resource-pack.
+     *
+     * @return The number of compressed downloads
+     */
+    public long compressedDownloads() {
+        return compressedDownloads.get();
+    }
+
+    /**
+     * Returns the total number of bytes that were not sent
+     * thanks to serving compressed variants of the resource-pack.
+     * Divide it by {@link #compressedDownloads()} to get the bytes
+     * saved per download.
+     *
+     * @return The total saved bytes
+     */
+    public long savedBytes() {
+        return savedBytes.get();
+    }
+
+    private static boolean isNotModified(
+            final @NotNull Headers requestHeaders,
+            final @NotNull ServedResourcePack resourcePack,
+            final ServedResourcePack.Variant variant
+    ) {
+        final String ifNoneMatch = requestHeaders.getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since
+            return matchesEntityTag(ifNoneMatch, variant.entityTag());
+        }
+
+        final String ifModifiedSince = requestHeaders.getFirst("If-Modified-Since");
+        if (ifModifiedSince != null) {
+            try {
+                final long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant()
+                        .toEpochMilli();
+                return resourcePack.lastModified() <= since;
+            } catch (final DateTimeParseException ignored) {
+                // invalid date, ignore the header
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRangeApplicable(
+            final @Nullable String ifRange,
+            final @NotNull ServedResourcePack resourcePack,
+            final ServedResourcePack.Variant variant
+    ) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // only strong comparison is allowed for If-Range
+            return ifRange.equals(variant.entityTag());
+        }
+        return ifRange.equals(resourcePack.lastModifiedHeader());
+    }
+
+    private static boolean matchesEntityTag(final @NotNull String header, final @NotNull String entityTag) {
+        for (String candidate : header.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                // weak comparison for If-None-Match
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -114,6 +339,10 @@ public final class CommonResourcePackServer implements CentralResourcePackServer
         if (server != null) {
             server.stop(0);
         }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
         address = null;
         port = -1;
         open = false;
@@ -0,0 +1,159 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.central.common.config.ExportConfiguration;
+
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Limits the downloads served by a {@link CommonResourcePackServer},
+ * so that mass joins do not saturate the server uplink.
+ *
+ * <p>It limits the bandwidth used by each download (per-connection
+ * limit), the bandwidth used by all the downloads together (global
+ * limit) and the amount of downloads served at the same time.</p>
+ *
+ * <p>Downloads over the concurrency limit wait for a free slot, up
+ * to a maximum time, and are rejected after that. Both the wait and
+ * the bandwidth limits block the request thread, so the server must
+ * not use the single-threaded default executor.</p>
+ */
+public final class DownloadLimiter {
+
+    private static final int KIBIBYTE = 1024;
+
+    private final long connectionBytesPerSecond;
+    private final @Nullable TokenBucket globalBucket;
+    private final @Nullable Semaphore downloads;
+    private final long maxWaitMillis;
+    private final int retryAfter;
+
+    private DownloadLimiter(
+            final long connectionBytesPerSecond,
+            final long globalBytesPerSecond,
+            final int maxConcurrentDownloads,
+            final long maxWaitMillis,
+            final int retryAfter
+    ) {
+        this.connectionBytesPerSecond = connectionBytesPerSecond;
+        this.globalBucket = globalBytesPerSecond > 0 ? bucket(globalBytesPerSecond) : null;
+        // fair, so that downloads start in the order they arrived
+        this.downloads = maxConcurrentDownloads > 0 ? new Semaphore(maxConcurrentDownloads, true) : null;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Tries to start a new download, waiting for a free slot if the
+     * maximum amount of concurrent downloads has been reached.
+     *
+     * @return True if the download can start, false if no slot was
+     * freed within the maximum wait time
+     */
+    boolean tryStart() {
+        if (downloads == null) {
+            return true;
+        }
+        try {
+            return downloads.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Marks a download, previously started via {@link #tryStart()},
+     * as finished.
+     */
+    void finish() {
+        if (downloads != null) {
+            downloads.release();
+        }
+    }
+
+    /**
+     * Returns the delay, in seconds, that rejected clients should
+     * wait before retrying, sent as the {@code Retry-After} header.
+     *
+     * @return The retry delay in seconds
+     */
+    int retryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Wraps the given {@code output} so that writes are limited
+     * by the bandwidth limits of this limiter.
+     *
+     * @param output The download output stream
+     * @return The limited output stream
+     */
+    @NotNull OutputStream throttle(final @NotNull OutputStream output) {
+        if (connectionBytesPerSecond <= 0 && globalBucket == null) {
+            return output;
+        }
+        return new ThrottledOutputStream(
+                output,
+                connectionBytesPerSecond > 0 ? bucket(connectionBytesPerSecond) : null,
+                globalBucket
+        );
+    }
+
+    private static @NotNull TokenBucket bucket(final long bytesPerSecond) {
+        // allow bursts of one second, but at least one chunk
+        return new TokenBucket(bytesPerSecond, Math.max(bytesPerSecond, ThrottledOutputStream.CHUNK_SIZE));
+    }
+
+    /**
+     * Creates a download limiter from the given configuration.
+     *
+     * @param config The rate-limit configuration
+     * @return The created limiter, or null if no limit is configured
+     */
+    public static @Nullable DownloadLimiter create(final @NotNull ExportConfiguration.RateLimitConfiguration config) {
+        requireNonNull(config, "config");
+        if (config.perConnectionBandwidth() <= 0
+                && config.globalBandwidth() <= 0
+                && config.maxConcurrentDownloads() <= 0) {
+            // no limits
+            return null;
+        }
+        return new DownloadLimiter(
+                (long) config.perConnectionBandwidth() * KIBIBYTE,
+                (long) config.globalBandwidth() * KIBIBYTE,
+                config.maxConcurrentDownloads(),
+                TimeUnit.SECONDS.toMillis(Math.max(0, config.maxWait())),
+                Math.max(1, config.retryAfter())
+        );
+    }
+
+}
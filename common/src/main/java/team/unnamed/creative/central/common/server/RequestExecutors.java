@@ -0,0 +1,197 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.central.common.config.ExportConfiguration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Factory for the executors used by the {@link CommonResourcePackServer}
+ * to handle the resource-pack download requests.
+ */
+public final class RequestExecutors {
+
+    private RequestExecutors() {
+    }
+
+    /**
+     * Creates the request executor specified by the given
+     * {@code config}.
+     *
+     * @param config The executor configuration
+     * @param logger The logger, used to warn about fallbacks
+     * @return The created executor, or null to use the HTTP server
+     * default (single-threaded) executor
+     */
+    public static @Nullable ExecutorService create(
+            final @NotNull ExportConfiguration.ExecutorConfiguration config,
+            final @NotNull Logger logger
+    ) {
+        requireNonNull(config, "config");
+        requireNonNull(logger, "logger");
+
+        final String type = config.type().toLowerCase(Locale.ROOT).trim();
+        switch (type) {
+            case "default":
+                return null;
+            case "virtual": {
+                final ExecutorService virtual = virtualThreadPerTask();
+                if (virtual != null) {
+                    return limited(virtual, config.maxConcurrentRequests());
+                }
+                logger.warning("Virtual threads are not available in this Java version (21+ required),"
+                        + " using a pool of " + config.threads() + " threads to handle the resource-pack requests");
+                return pool(config.threads());
+            }
+            case "pool":
+                return pool(config.threads());
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown resource-pack server executor type: '" + type + "'. Possible values:\n"
+                        + "    - 'virtual': A virtual thread per request (Java 21+)\n"
+                        + "    - 'pool':    A bounded pool of platform threads\n"
+                        + "    - 'default': A single thread for all the requests\n"
+                );
+        }
+    }
+
+    private static @NotNull ExecutorService pool(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The resource-pack server thread count must be positive, found: " + threads);
+        }
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new RequestThreadFactory()
+        );
+        // do not keep idle threads around when there are no downloads
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static @Nullable ExecutorService virtualThreadPerTask() {
+        // use reflection, we compile against Java 8
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (final ReflectiveOperationException ignored) {
+            return null;
+        }
+    }
+
+    private static @NotNull ExecutorService limited(final @NotNull ExecutorService delegate, final int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("The maximum amount of concurrent requests must be positive, found: " + maxConcurrentRequests);
+        }
+        return new ConcurrencyLimitedExecutorService(delegate, maxConcurrentRequests);
+    }
+
+    private static final class RequestThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final @NotNull Runnable runnable) {
+            final Thread thread = new Thread(runnable, "creative-central-http-" + nextId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    /**
+     * An executor service that limits the amount of tasks running at the
+     * same time, tasks over the limit wait (without blocking the caller)
+     * for a permit before running.
+     */
+    private static final class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        private ConcurrencyLimitedExecutorService(final @NotNull ExecutorService delegate, final int maxConcurrentTasks) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrentTasks, true);
+        }
+
+        @Override
+        public void execute(final @NotNull Runnable command) {
+            delegate.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public @NotNull List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final @NotNull TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable, in-memory representation of the resource-pack
+ * served by a {@link CommonResourcePackServer}.
+ *
+ * <p>The resource-pack data is materialized only once, when
+ * the resource-pack is set, and the same buffer is then shared
+ * by every download request, so serving a request does not
+ * allocate anything that scales with the resource-pack size.</p>
+ *
+ * <p>Compressed variants (gzip and deflate content codings)
+ * are also built once, here, so that requests never compress
+ * on the fly. Only the enabled content codings are built, since
+ * every variant is kept in memory, and a variant is only kept if
+ * it is actually smaller than the raw resource-pack.</p>
+ */
+final class ServedResourcePack {
+
+    private final BuiltResourcePack source;
+    private final Variant identity;
+    private final @Nullable Variant gzip;
+    private final @Nullable Variant deflate;
+
+    // pre-computed validators, sent in every response
+    private final long lastModified;
+    private final String lastModifiedHeader;
+
+    /**
+     * Creates a served resource-pack for the given {@code source}.
+     *
+     * <p>If the {@code previous} served resource-pack has the same
+     * hash, its data and its last modification date are reused, so
+     * that setting the same resource-pack again does not invalidate
+     * the clients' caches.</p>
+     *
+     * @param source The built resource-pack
+     * @param encodings The enabled content codings, "gzip" and/or "deflate"
+     * @param previous The previously served resource-pack, may be null
+     */
+    ServedResourcePack(
+            final @NotNull BuiltResourcePack source,
+            final @NotNull Collection<String> encodings,
+            final @Nullable ServedResourcePack previous
+    ) {
+        this.source = requireNonNull(source, "source");
+        requireNonNull(encodings, "encodings");
+        final String hash = source.hash();
+
+        if (previous != null && previous.hash().equals(hash)) {
+            // same content, keep the validators sent to the clients
+            this.lastModified = previous.lastModified;
+            this.lastModifiedHeader = previous.lastModifiedHeader;
+            this.identity = previous.identity;
+            this.gzip = encodings.contains("gzip")
+                    ? (previous.gzip != null ? previous.gzip : compressed("gzip", identity.data, hash))
+                    : null;
+            this.deflate = encodings.contains("deflate")
+                    ? (previous.deflate != null ? previous.deflate : compressed("deflate", identity.data, hash))
+                    : null;
+            return;
+        }
+
+        final byte[] data;
+        try {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            source.data().write(buffer);
+            data = buffer.toByteArray();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read the resource-pack data", e);
+        }
+        this.identity = new Variant(null, data, '"' + hash + '"', 0);
+        this.gzip = encodings.contains("gzip") ? compressed("gzip", data, hash) : null;
+        this.deflate = encodings.contains("deflate") ? compressed("deflate", data, hash) : null;
+
+        // HTTP dates have a precision of seconds
+        final Instant now = Instant.ofEpochSecond(System.currentTimeMillis() / 1000L);
+        this.lastModified = now.toEpochMilli();
+        this.lastModifiedHeader = DateTimeFormatter.RFC_1123_DATE_TIME.format(now.atOffset(ZoneOffset.UTC));
+    }
+
+    @NotNull BuiltResourcePack source() {
+        return source;
+    }
+
+    @NotNull String hash() {
+        return source.hash();
+    }
+
+    long lastModified() {
+        return lastModified;
+    }
+
+    @NotNull String lastModifiedHeader() {
+        return lastModifiedHeader;
+    }
+
+    /**
+     * Selects the variant to serve for the given {@code Accept-Encoding}
+     * request header value. Gzip is preferred over deflate, and the raw
+     * resource-pack is used if none of them is acceptable.
+     *
+     * @param acceptEncoding The accept-encoding header value, may be null
+     * @return The selected variant
+     */
+    @NotNull Variant select(final @Nullable String acceptEncoding) {
+        if (acceptEncoding == null || (gzip == null && deflate == null)) {
+            return identity;
+        }
+        if (gzip != null && accepts(acceptEncoding, "gzip")) {
+            return gzip;
+        }
+        if (deflate != null && accepts(acceptEncoding, "deflate")) {
+            return deflate;
+        }
+        return identity;
+    }
+
+    static boolean accepts(final @NotNull String acceptEncoding, final @NotNull String coding) {
+        // an exact match always takes precedence over the "*" wildcard,
+        // so "*;q=0, gzip" accepts gzip and "gzip;q=0, *" rejects it
+        float wildcard = -1F;
+        for (final String element : acceptEncoding.split(",")) {
+            final String[] parts = element.split(";");
+            final String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(coding)) {
+                return quality(parts) > 0F;
+            } else if (name.equals("*") && wildcard < 0F) {
+                wildcard = quality(parts);
+            }
+        }
+        return wildcard > 0F;
+    }
+
+    private static float quality(final String[] parts) {
+        // check if explicitly rejected, i.e. "gzip;q=0"
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2));
+                } catch (final NumberFormatException ignored) {
+                    return 0F;
+                }
+            }
+        }
+        return 1F;
+    }
+
+    private static @Nullable Variant compressed(final @NotNull String encoding, final byte[] data, final @NotNull String hash) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length);
+        try (OutputStream output = encoding.equals("gzip")
+                ? new GZIPOutputStream(buffer)
+                : new DeflaterOutputStream(buffer)) {
+            output.write(data);
+        } catch (final IOException e) {
+            // should never happen, we are writing to memory
+            throw new UncheckedIOException("Failed to compress resource-pack", e);
+        }
+
+        if (buffer.size() >= data.length) {
+            // not worth it
+            return null;
+        }
+        return new Variant(encoding, buffer.toByteArray(), '"' + hash + '-' + encoding + '"', data.length - buffer.size());
+    }
+
+    /**
+     * A representation of the served resource-pack with a specific
+     * content coding.
+     */
+    static final class Variant {
+
+        private final @Nullable String encoding;
+        private final byte[] data;
+        private final String entityTag;
+        private final int savedBytes;
+
+        private Variant(final @Nullable String encoding, final byte[] data, final @NotNull String entityTag, final int savedBytes) {
+            this.encoding = encoding;
+            this.data = data;
+            this.entityTag = entityTag;
+            this.savedBytes = savedBytes;
+        }
+
+        /**
+         * Returns the content coding of this variant, or null if
+         * this is the raw resource-pack.
+         *
+         * @return The content coding
+         */
+        @Nullable String encoding() {
+            return encoding;
+        }
+
+        /**
+         * Returns the quoted entity tag for this variant, which is the
+         * resource-pack SHA-1 hash, as used in the download URL by the
+         * {@code LocalHostExporter}, followed by the content coding, if
+         * any.
+         *
+         * @return The entity tag
+         */
+        @NotNull String entityTag() {
+            return entityTag;
+        }
+
+        /**
+         * Returns the number of bytes saved, compared to the raw
+         * resource-pack, when this variant is fully downloaded.
+         *
+         * @return The saved bytes
+         */
+        int savedBytes() {
+            return savedBytes;
+        }
+
+        int length() {
+            return data.length;
+        }
+
+        /**
+         * Writes a region of the variant data to the given
+         * {@code output}, without copying the underlying buffer.
+         *
+         * @param output The target output stream
+         * @param offset The start offset in the data
+         * @param length The number of bytes to write
+         * @throws IOException If writing fails
+         */
+        void write(final @NotNull OutputStream output, final int offset, final int length) throws IOException {
+            output.write(data, offset, length);
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that writes in small chunks, taking tokens
+ * (bytes) from a per-connection and a global {@link TokenBucket}
+ * before writing every chunk.
+ */
+final class ThrottledOutputStream extends FilterOutputStream {
+
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    private final @Nullable TokenBucket connectionBucket;
+    private final @Nullable TokenBucket globalBucket;
+
+    ThrottledOutputStream(
+            final @NotNull OutputStream out,
+            final @Nullable TokenBucket connectionBucket,
+            final @Nullable TokenBucket globalBucket
+    ) {
+        super(out);
+        this.connectionBucket = connectionBucket;
+        this.globalBucket = globalBucket;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        acquire(1);
+        out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            final int chunk = Math.min(len, CHUNK_SIZE);
+            acquire(chunk);
+            out.write(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    private void acquire(final int amount) throws IOException {
+        if (connectionBucket != null) {
+            connectionBucket.acquire(amount);
+        }
+        if (globalBucket != null) {
+            globalBucket.acquire(amount);
+        }
+    }
+
+}
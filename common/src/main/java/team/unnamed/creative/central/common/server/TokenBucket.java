@@ -0,0 +1,89 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket, used to limit the rate at which bytes are sent
+ * by the {@link CommonResourcePackServer}.
+ *
+ * <p>Tokens are reserved up-front, so the bucket may go into debt,
+ * in which case the caller waits until the debt is paid. This keeps
+ * callers in a first-come, first-served order.</p>
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a new token bucket.
+     *
+     * @param tokensPerSecond The refill rate, in tokens per second
+     * @param capacity The maximum amount of tokens (burst size)
+     */
+    TokenBucket(final long tokensPerSecond, final long capacity) {
+        if (tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("tokensPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes the given amount of tokens from this bucket, waiting
+     * until they are available.
+     *
+     * @param amount The amount of tokens
+     * @throws InterruptedIOException If interrupted while waiting
+     */
+    void acquire(final int amount) throws InterruptedIOException {
+        final long waitNanos;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            tokens -= amount;
+            if (tokens >= 0) {
+                return;
+            }
+            waitNanos = (long) (-tokens / tokensPerNano);
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for bandwidth");
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A component parsed once from MiniMessage, with slots for
+ * placeholders that are filled when rendered, without parsing
+ * the MiniMessage string again.
+ */
+public final class ComponentTemplate {
+
+    // private use characters, so that they can't collide with the
+    // text written in the configuration
+    private static final char SLOT_START = '\uE000';
+    private static final char SLOT_END = '\uE001';
+
+    private final Component component;
+    private final List<String> placeholders;
+
+    private ComponentTemplate(final @NotNull Component component, final @NotNull List<String> placeholders) {
+        this.component = component;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Returns the template component, the placeholders are
+     * present as slots in it.
+     *
+     * @return The template component
+     */
+    public @NotNull Component component() {
+        return component;
+    }
+
+    /**
+     * Returns the names of the placeholders used in this
+     * template, in the order expected by {@link #render}.
+     *
+     * @return The used placeholders
+     */
+    public @NotNull List<String> placeholders() {
+        return placeholders;
+    }
+
+    /**
+     * Determines whether this template has no placeholders, so
+     * that it always renders to the same component.
+     *
+     * @return True if this template has no placeholders
+     */
+    public boolean isStatic() {
+        return placeholders.isEmpty();
+    }
+
+    /**
+     * Fills the placeholder slots with the given values.
+     *
+     * @param values The placeholder values, in the same order
+     *               as {@link #placeholders()}
+     * @return The rendered component
+     */
+    public @NotNull Component render(final @NotNull String... values) {
+        if (values.length != placeholders.size()) {
+            throw new IllegalArgumentException("Expected " + placeholders.size() + " values, got " + values.length);
+        }
+        Component rendered = component;
+        for (int i = 0; i < values.length; i++) {
+            rendered = rendered.replaceText(TextReplacementConfig.builder()
+                    .matchLiteral(slot(placeholders.get(i)))
+                    .replacement(values[i])
+                    .build());
+        }
+        return rendered;
+    }
+
+    /**
+     * Creates a template without placeholders.
+     *
+     * @param component The component
+     * @return The created template
+     */
+    public static @NotNull ComponentTemplate of(final @NotNull Component component) {
+        return new ComponentTemplate(requireNonNull(component, "component"), Collections.emptyList());
+    }
+
+    /**
+     * Parses the given MiniMessage string into a template, the given
+     * placeholder names can be used as tags, e.g. {@code <player>}.
+     *
+     * @param src The MiniMessage string
+     * @param placeholders The allowed placeholder names
+     * @return The parsed template
+     */
+    public static @NotNull ComponentTemplate parse(final @NotNull String src, final @NotNull Collection<String> placeholders) {
+        requireNonNull(src, "src");
+        requireNonNull(placeholders, "placeholders");
+
+        final Set<String> used = new LinkedHashSet<>();
+        final List<TagResolver> resolvers = new ArrayList<>(placeholders.size());
+        for (final String placeholder : placeholders) {
+            resolvers.add(TagResolver.resolver(placeholder, (arguments, context) -> {
+                used.add(placeholder);
+                return Tag.selfClosingInserting(Component.text(slot(placeholder)));
+            }));
+        }
+
+        final Component component = MiniMessage.miniMessage().deserialize(src, TagResolver.resolver(resolvers));
+        return new ComponentTemplate(component, Collections.unmodifiableList(new ArrayList<>(used)));
+    }
+
+    private static @NotNull String slot(final @NotNull String placeholder) {
+        return SLOT_START + placeholder + SLOT_END;
+    }
+
+}
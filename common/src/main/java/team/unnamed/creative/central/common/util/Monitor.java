@@ -23,39 +23,168 @@
  */
 package team.unnamed.creative.central.common.util;
 
-import java.util.Collections;
-import java.util.HashSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A holder for a value that can be replaced at any time, e.g. the
+ * configuration, notifying listeners when it changes.
+ *
+ * <p>Reads never block, the value is swapped atomically and the
+ * listeners are notified after the swap, in the calling thread or
+ * using the given executor.</p>
+ *
+ * <p>Notifications never go back in time: if a notification arrives
+ * after the one for a newer value (e.g. the executor ran them out of
+ * order), it is skipped, so the last value seen by the listeners is
+ * always the newest one. Listeners are never called while holding
+ * a lock, so they may safely take locks or replace the value.</p>
+ *
+ * @param <T> The value type
+ */
 public final class Monitor<T> {
 
-    private T value;
-    private final Set<BiConsumer<T, T>> listeners = Collections.synchronizedSet(new HashSet<>());
+    private final AtomicReference<Snapshot<T>> snapshot;
+    private final Set<BiConsumer<T, T>> listeners = new CopyOnWriteArraySet<>();
+    private final @Nullable Executor executor;
+
+    // version of the last value whose notification started
+    private final AtomicLong notifiedVersion = new AtomicLong();
+
+    private Monitor(final @NotNull T initialValue, final @Nullable Executor executor) {
+        this.snapshot = new AtomicReference<>(new Snapshot<>(requireNonNull(initialValue, "initialValue"), 0));
+        this.executor = executor;
+    }
+
+    public T get() {
+        return snapshot.get().value();
+    }
 
-    private Monitor(T initialValue) {
-        this.value = requireNonNull(initialValue, "initialValue");
+    /**
+     * Returns the current value along with its version, which
+     * increases every time the value is replaced.
+     *
+     * @return The current snapshot
+     */
+    public @NotNull Snapshot<T> snapshot() {
+        return snapshot.get();
     }
 
-    public synchronized T get() {
-        return value;
+    public void set(final @NotNull T value) {
+        requireNonNull(value, "value");
+        Snapshot<T> previous;
+        Snapshot<T> next;
+        do {
+            previous = snapshot.get();
+            next = new Snapshot<>(value, previous.version() + 1);
+        } while (!snapshot.compareAndSet(previous, next));
+        notify(previous.value(), next);
     }
 
-    public synchronized void set(T value) {
-        T oldValue = this.value;
-        this.value = value;
-        listeners.forEach(listener -> listener.accept(oldValue, value));
+    /**
+     * Replaces the value only if it wasn't replaced since the
+     * given snapshot was taken.
+     *
+     * @param expected The snapshot the new value is based on
+     * @param value The new value
+     * @return True if the value was replaced
+     */
+    public boolean compareAndSet(final @NotNull Snapshot<T> expected, final @NotNull T value) {
+        requireNonNull(expected, "expected");
+        requireNonNull(value, "value");
+        final Snapshot<T> next = new Snapshot<>(value, expected.version() + 1);
+        if (!snapshot.compareAndSet(expected, next)) {
+            return false;
+        }
+        notify(expected.value(), next);
+        return true;
     }
 
-    public synchronized void onChange(BiConsumer<T, T> listener) {
+    public void onChange(final @NotNull BiConsumer<T, T> listener) {
         requireNonNull(listener, "listener");
         listeners.add(listener);
     }
 
-    public static <T> Monitor<T> monitor(T initialValue) {
-        return new Monitor<>(initialValue);
+    private void notify(final T oldValue, final @NotNull Snapshot<T> next) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        if (executor == null) {
+            deliver(oldValue, next);
+        } else {
+            executor.execute(() -> deliver(oldValue, next));
+        }
+    }
+
+    private void deliver(final T oldValue, final @NotNull Snapshot<T> next) {
+        long notified;
+        do {
+            notified = notifiedVersion.get();
+            if (next.version() <= notified) {
+                // a newer value was already notified
+                return;
+            }
+        } while (!notifiedVersion.compareAndSet(notified, next.version()));
+
+        for (final BiConsumer<T, T> listener : listeners) {
+            if (notifiedVersion.get() != next.version()) {
+                // a newer value is being notified, stop here so
+                // listeners don't end on this older value
+                return;
+            }
+            listener.accept(oldValue, next.value());
+        }
+    }
+
+    public static <T> Monitor<T> monitor(final @NotNull T initialValue) {
+        return new Monitor<>(initialValue, null);
+    }
+
+    /**
+     * Creates a monitor that notifies its listeners using the
+     * given executor.
+     *
+     * @param initialValue The initial value
+     * @param executor The executor for change notifications
+     * @param <T> The value type
+     * @return The created monitor
+     */
+    public static <T> Monitor<T> monitor(final @NotNull T initialValue, final @NotNull Executor executor) {
+        return new Monitor<>(initialValue, requireNonNull(executor, "executor"));
+    }
+
+    /**
+     * An immutable, versioned view of a monitored value.
+     *
+     * @param <T> The value type
+     */
+    public static final class Snapshot<T> {
+
+        private final T value;
+        private final long version;
+
+        private Snapshot(final T value, final long version) {
+            this.value = value;
+            this.version = version;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        public long version() {
+            return version;
+        }
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.action;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.central.pack.ResourcePackStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FeedbackPlanTest {
+
+    @Test
+    public void test_actions_are_compiled_once() {
+        AtomicInteger compilations = new AtomicInteger();
+        ActionExecutor<List<String>> executor = new ActionExecutor<List<String>>() {
+            @Override
+            public void execute(Action action, List<String> target) {
+                Assertions.fail("Actions should be executed through their compiled form");
+            }
+
+            @Override
+            public CompiledAction<List<String>> compile(Action action) {
+                compilations.incrementAndGet();
+                String text = ((TextAction) action).text.toUpperCase();
+                return target -> target.add(text);
+            }
+        };
+
+        Map<ResourcePackStatus, List<Action>> feedback = new HashMap<>();
+        feedback.put(ResourcePackStatus.LOADED, Arrays.asList(new TextAction("loaded"), new TextAction("welcome")));
+        feedback.put(ResourcePackStatus.DECLINED, Collections.emptyList());
+
+        FeedbackPlan<List<String>> plan = FeedbackPlan.compile(feedback, executor);
+        Assertions.assertEquals(2, compilations.get());
+
+        List<String> player1 = new ArrayList<>();
+        List<String> player2 = new ArrayList<>();
+        plan.execute(ResourcePackStatus.LOADED, player1);
+        plan.execute(ResourcePackStatus.LOADED, player2);
+        plan.execute(ResourcePackStatus.DECLINED, player2);
+        plan.execute(ResourcePackStatus.FAILED, player2);
+
+        Assertions.assertEquals(Arrays.asList("LOADED", "WELCOME"), player1);
+        Assertions.assertEquals(Arrays.asList("LOADED", "WELCOME"), player2);
+        Assertions.assertEquals(2, compilations.get(), "Executing should not compile again");
+    }
+
+    private static final class TextAction implements Action {
+
+        private final String text;
+
+        private TextAction(String text) {
+            this.text = text;
+        }
+
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.action;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.central.common.util.ComponentTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TemplateRendererTest {
+
+    @Test
+    public void test_only_used_placeholders_are_kept() {
+        ComponentTemplate template = ComponentTemplate.parse("<green>Welcome <player>!", PlaceholderResolver.PLACEHOLDERS);
+        Assertions.assertEquals(Collections.singletonList(PlaceholderResolver.PLAYER), template.placeholders());
+        Assertions.assertFalse(template.isStatic());
+
+        ComponentTemplate staticTemplate = ComponentTemplate.parse("<green>Welcome!", PlaceholderResolver.PLACEHOLDERS);
+        Assertions.assertTrue(staticTemplate.isStatic());
+    }
+
+    @Test
+    public void test_renders_are_cached_per_target() {
+        Map<String, String> names = new HashMap<>();
+        names.put("id1", "Steve");
+        names.put("id2", "Alex");
+
+        AtomicInteger renders = new AtomicInteger();
+        TemplateRenderer<String, Component> renderer = new TemplateRenderer<>(
+                ComponentTemplate.parse("Welcome <player>!", PlaceholderResolver.PLACEHOLDERS),
+                new MapResolver(names),
+                component -> {
+                    renders.incrementAndGet();
+                    return component;
+                }
+        );
+
+        Component first = renderer.render("id1");
+        Assertions.assertSame(first, renderer.render("id1"), "Render should be cached");
+        Assertions.assertEquals(1, renders.get());
+
+        renderer.render("id2");
+        Assertions.assertEquals(2, renders.get());
+
+        // values changed, must render again
+        names.put("id1", "Notch");
+        renderer.render("id1");
+        Assertions.assertEquals(3, renders.get());
+    }
+
+    @Test
+    public void test_cache_is_bounded() {
+        AtomicInteger renders = new AtomicInteger();
+        TemplateRenderer<String, Component> renderer = new TemplateRenderer<>(
+                ComponentTemplate.parse("Welcome <player>!", PlaceholderResolver.PLACEHOLDERS),
+                new MapResolver(Collections.emptyMap()),
+                component -> {
+                    renders.incrementAndGet();
+                    return component;
+                },
+                2
+        );
+
+        renderer.render("id1");
+        renderer.render("id2");
+        renderer.render("id3");
+        Assertions.assertEquals(3, renders.get());
+
+        // id1 was evicted, id3 wasn't
+        renderer.render("id3");
+        Assertions.assertEquals(3, renders.get());
+        renderer.render("id1");
+        Assertions.assertEquals(4, renders.get());
+    }
+
+    @Test
+    public void test_no_placeholders_render_once() {
+        AtomicInteger renders = new AtomicInteger();
+        TemplateRenderer<String, Component> renderer = new TemplateRenderer<>(
+                ComponentTemplate.parse("Welcome <player>!", PlaceholderResolver.PLACEHOLDERS),
+                PlaceholderResolver.none(),
+                component -> {
+                    renders.incrementAndGet();
+                    return component;
+                }
+        );
+        Assertions.assertEquals(1, renders.get(), "Should be rendered when created");
+
+        Component first = renderer.render("id1");
+        Assertions.assertSame(first, renderer.render("id2"));
+        Assertions.assertEquals(1, renders.get());
+
+        // targets are never used as keys
+        PlaceholderResolver<String> none = PlaceholderResolver.none();
+        Assertions.assertSame(none.key("id1"), none.key("id2"));
+    }
+
+    private static final class MapResolver implements PlaceholderResolver<String> {
+
+        private final Map<String, String> names;
+
+        private MapResolver(Map<String, String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public @NotNull Object key(@NotNull String target) {
+            return target;
+        }
+
+        @Override
+        public @Nullable String resolve(@NotNull String placeholder, @NotNull String target) {
+            return PLAYER.equals(placeholder) ? names.getOrDefault(target, target) : null;
+        }
+
+    }
+
+}
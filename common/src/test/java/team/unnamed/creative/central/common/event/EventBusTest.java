@@ -25,9 +25,16 @@ package team.unnamed.creative.central.common.event;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import team.unnamed.creative.central.event.Event;
 import team.unnamed.creative.central.event.EventBus;
 import team.unnamed.creative.central.event.EventListener;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class EventBusTest {
@@ -82,4 +89,123 @@ public class EventBusTest {
         Assertions.assertEquals(2, event.counter(), "Counter should be equal to two after the event is called");
     }
 
+    @Test
+    public void test_same_priority_listeners_keep_registration_order() {
+        EventBus eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        Object plugin1 = new Object();
+
+        eventBus.listen(plugin1, TestEvent.class, EventListener.Priority.HIGH, event -> event.assertAndIncrement(3));
+        eventBus.listen(plugin1, TestEvent.class, EventListener.Priority.NORMAL, event -> event.assertAndIncrement(0));
+        eventBus.listen(plugin1, TestEvent.class, EventListener.Priority.NORMAL, event -> event.assertAndIncrement(1));
+        eventBus.listen(plugin1, TestEvent.class, EventListener.Priority.NORMAL, event -> event.assertAndIncrement(2));
+
+        TestEvent event = new TestEvent();
+        eventBus.call(TestEvent.class, event);
+        Assertions.assertEquals(4, event.counter(), "Counter should be equal to four after the event is called");
+    }
+
+    @Test
+    public void test_concurrent_registrations_are_not_lost() throws InterruptedException {
+        EventBus eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        Object plugin1 = new Object();
+        int threadCount = 8;
+        int listenersPerThread = 500;
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < listenersPerThread; j++) {
+                    eventBus.listen(plugin1, TestEvent.class, event -> event.increment());
+                    // calls racing the registrations must not fail
+                    eventBus.call(TestEvent.class, new TestEvent());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        TestEvent event = new TestEvent();
+        eventBus.call(TestEvent.class, event);
+        Assertions.assertEquals(threadCount * listenersPerThread, event.counter(), "All the listeners should be called");
+    }
+
+    @Test
+    public void test_supertype_listeners_are_called_in_order() {
+        EventBus eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        Object plugin1 = new Object();
+
+        eventBus.listen(plugin1, Event.class, EventListener.Priority.HIGH, event -> ((TestEvent) event).assertAndIncrement(2));
+        eventBus.listen(plugin1, TestEvent.class, EventListener.Priority.LOW, event -> event.assertAndIncrement(0));
+        eventBus.listen(plugin1, Event.class, EventListener.Priority.NORMAL, event -> ((TestEvent) event).assertAndIncrement(1));
+
+        TestEvent event = new TestEvent();
+        eventBus.call(TestEvent.class, event);
+        Assertions.assertEquals(3, event.counter(), "Counter should be equal to three after the event is called");
+    }
+
+    @Test
+    public void test_listeners_registered_after_a_call_are_called() {
+        EventBus eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        Object plugin1 = new Object();
+
+        eventBus.listen(plugin1, TestEvent.class, event -> event.increment());
+        eventBus.call(TestEvent.class, new TestEvent());
+
+        // must invalidate the resolved listeners for TestEvent
+        eventBus.listen(plugin1, Event.class, event -> ((TestEvent) event).increment());
+
+        TestEvent event = new TestEvent();
+        eventBus.call(TestEvent.class, event);
+        Assertions.assertEquals(2, event.counter(), "Both listeners should be called");
+    }
+
+    @Test
+    public void test_async_listeners_run_after_sync_ones() throws Exception {
+        ExecutorService executor = EventBusImpl.asyncExecutor(1, 16);
+        try {
+            EventBus eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty(), executor);
+            Object plugin1 = new Object();
+            Thread caller = Thread.currentThread();
+
+            eventBus.listenAsync(plugin1, TestEvent.class, EventListener.Priority.HIGH, event -> {
+                Assertions.assertNotSame(caller, Thread.currentThread(), "Async listener ran in the caller thread");
+                event.assertAndIncrement(3);
+            });
+            eventBus.listen(plugin1, TestEvent.class, EventListener.Priority.HIGHEST, event -> event.assertAndIncrement(1));
+            eventBus.listenAsync(plugin1, TestEvent.class, EventListener.Priority.LOWEST, event -> event.assertAndIncrement(2));
+            eventBus.listen(plugin1, TestEvent.class, EventListener.Priority.LOW, event -> event.assertAndIncrement(0));
+
+            TestEvent event = new TestEvent();
+            TestEvent result = eventBus.callAsync(TestEvent.class, event).get(5, TimeUnit.SECONDS);
+            Assertions.assertSame(event, result);
+            Assertions.assertEquals(4, event.counter(), "Counter should be equal to four after the event is called");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_async_calls_after_close_complete_exceptionally() {
+        EventBusImpl<Object> eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        eventBus.listenAsync(new Object(), TestEvent.class, EventListener.Priority.NORMAL, event -> event.increment());
+        eventBus.close();
+
+        TestEvent event = new TestEvent();
+        CompletableFuture<TestEvent> future = eventBus.callAsync(TestEvent.class, event);
+        Assertions.assertTrue(future.isCompletedExceptionally(), "Call after close should be rejected");
+        Assertions.assertEquals(0, event.counter());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.central.event.EventListener;
+import team.unnamed.creative.central.event.pack.ResourcePackEvent;
+import team.unnamed.creative.central.event.pack.ResourcePackStatusBatchEvent;
+import team.unnamed.creative.central.event.pack.ResourcePackStatusEvent;
+import team.unnamed.creative.central.pack.ResourcePackStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResourcePackStatusBatcherTest {
+
+    @Test
+    public void test_statuses_are_called_as_a_batch() {
+        EventBusImpl<Object> eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        Object plugin1 = new Object();
+
+        List<ResourcePackStatusBatchEvent> batches = new ArrayList<>();
+        eventBus.listen(plugin1, ResourcePackStatusBatchEvent.class, EventListener.Priority.NORMAL, batches::add);
+
+        ResourcePackStatusBatcher batcher = new ResourcePackStatusBatcher(eventBus);
+        batcher.flush();
+        Assertions.assertTrue(batches.isEmpty(), "Empty batches should not be called");
+
+        batcher.add("player1", ResourcePackStatus.ACCEPTED);
+        batcher.add("player2", ResourcePackStatus.LOADED);
+        Assertions.assertTrue(batches.isEmpty(), "Statuses should not be called before flushing");
+
+        batcher.flush();
+        Assertions.assertEquals(1, batches.size());
+        ResourcePackStatusBatchEvent batch = batches.get(0);
+        Assertions.assertEquals(2, batch.size());
+        Assertions.assertEquals("player1", batch.player(0));
+        Assertions.assertEquals(ResourcePackStatus.ACCEPTED, batch.status(0));
+        Assertions.assertEquals("player2", batch.player(1));
+        Assertions.assertEquals(ResourcePackStatus.LOADED, batch.status(1));
+
+        batcher.flush();
+        Assertions.assertEquals(1, batches.size(), "Flushed statuses should not be called again");
+    }
+
+    @Test
+    public void test_statuses_are_replayed_only_to_exact_listeners() {
+        EventBusImpl<Object> eventBus = new EventBusImpl<>(Object.class, EventExceptionHandler.empty());
+        Object plugin1 = new Object();
+
+        List<ResourcePackEvent> supertypeEvents = new ArrayList<>();
+        List<ResourcePackStatusEvent> statuses = new ArrayList<>();
+        eventBus.listen(plugin1, ResourcePackEvent.class, EventListener.Priority.NORMAL, supertypeEvents::add);
+        eventBus.listen(plugin1, ResourcePackStatusEvent.class, EventListener.Priority.NORMAL, statuses::add);
+
+        ResourcePackStatusBatcher batcher = new ResourcePackStatusBatcher(eventBus);
+        batcher.add("player1", ResourcePackStatus.ACCEPTED);
+        batcher.add("player2", ResourcePackStatus.LOADED);
+        batcher.flush();
+
+        // supertype listeners receive every status once, in the batch
+        Assertions.assertEquals(1, supertypeEvents.size());
+        Assertions.assertTrue(supertypeEvents.get(0) instanceof ResourcePackStatusBatchEvent);
+
+        Assertions.assertEquals(2, statuses.size(), "Statuses should still be called individually");
+        Assertions.assertEquals("player1", statuses.get(0).player());
+        Assertions.assertEquals(ResourcePackStatus.ACCEPTED, statuses.get(0).status());
+        Assertions.assertEquals("player2", statuses.get(1).player());
+        Assertions.assertEquals(ResourcePackStatus.LOADED, statuses.get(1).status());
+    }
+
+}
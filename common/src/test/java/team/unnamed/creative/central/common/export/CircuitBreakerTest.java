@@ -0,0 +1,81 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+    @Test
+    public void test_opens_after_threshold() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+        Assertions.assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        Assertions.assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        Assertions.assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void test_half_open_after_duration() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.recordFailure();
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        // open duration is zero, next request is a trial
+        Assertions.assertTrue(breaker.allowRequest());
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        // failing the trial opens it again
+        breaker.recordFailure();
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        Assertions.assertTrue(breaker.allowRequest());
+        breaker.recordSuccess();
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        Assertions.assertEquals(0, breaker.consecutiveFailures());
+    }
+
+    @Test
+    public void test_half_open_allows_single_probe() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.recordFailure();
+
+        // the first request is the probe, the rest wait for its result
+        Assertions.assertTrue(breaker.allowRequest());
+        Assertions.assertFalse(breaker.allowRequest());
+        Assertions.assertFalse(breaker.allowRequest());
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        breaker.recordSuccess();
+        Assertions.assertTrue(breaker.allowRequest());
+        Assertions.assertTrue(breaker.allowRequest());
+    }
+
+}
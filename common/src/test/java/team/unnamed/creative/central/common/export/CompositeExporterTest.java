@@ -0,0 +1,190 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.central.export.ResourcePackExporter;
+import team.unnamed.creative.central.export.ResourcePackLocation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class CompositeExporterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Executor EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "composite-exporter-test");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Test
+    public void test_first_success_does_not_wait_for_others() throws Exception {
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        targets.put("never", never());
+        targets.put("failing", failing());
+        targets.put("working", location("https://b.com/pack.zip"));
+
+        ResourcePackLocation location = export(CompositeExporter.Policy.FIRST_SUCCESS, targets);
+        Assertions.assertEquals(URI.create("https://b.com/pack.zip"), location.uri());
+        Assertions.assertEquals(Collections.emptyList(), location.mirrors());
+    }
+
+    @Test
+    public void test_first_success_fails_if_every_target_fails() {
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        targets.put("first", failing());
+        targets.put("second", failing());
+
+        Assertions.assertThrows(IOException.class, () -> export(CompositeExporter.Policy.FIRST_SUCCESS, targets));
+    }
+
+    @Test
+    public void test_all_required_uses_every_location() throws Exception {
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        targets.put("first", location("https://a.com/pack.zip"));
+        targets.put("second", location("https://b.com/pack.zip"));
+
+        ResourcePackLocation location = export(CompositeExporter.Policy.ALL_REQUIRED, targets);
+        Assertions.assertEquals(URI.create("https://a.com/pack.zip"), location.uri());
+        Assertions.assertEquals(Collections.singletonList(URI.create("https://b.com/pack.zip")), location.mirrors());
+    }
+
+    @Test
+    public void test_all_required_fails_without_waiting_for_others() {
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        targets.put("never", never());
+        targets.put("working", location("https://b.com/pack.zip"));
+        targets.put("failing", failing());
+
+        Assertions.assertThrows(IOException.class, () -> export(CompositeExporter.Policy.ALL_REQUIRED, targets));
+    }
+
+    @Test
+    public void test_primary_with_fallback_does_not_wait_for_others() throws Exception {
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        targets.put("primary", location("https://a.com/pack.zip"));
+        targets.put("never", never());
+
+        ResourcePackLocation location = export(CompositeExporter.Policy.PRIMARY_WITH_FALLBACK, targets);
+        Assertions.assertEquals(URI.create("https://a.com/pack.zip"), location.uri());
+        Assertions.assertEquals(Collections.emptyList(), location.mirrors());
+    }
+
+    @Test
+    public void test_primary_with_fallback_keeps_priority_order() throws Exception {
+        CountDownLatch secondaryStarted = new CountDownLatch(1);
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        // the primary fails after the tertiary succeeded, but before the secondary
+        targets.put("primary", resourcePack -> {
+            await(secondaryStarted);
+            sleep(100L);
+            throw new IOException("Primary is down");
+        });
+        targets.put("secondary", resourcePack -> {
+            secondaryStarted.countDown();
+            sleep(200L);
+            return ResourcePackLocation.of("https://b.com/pack.zip", "hash");
+        });
+        targets.put("tertiary", location("https://c.com/pack.zip"));
+
+        ResourcePackLocation location = export(CompositeExporter.Policy.PRIMARY_WITH_FALLBACK, targets);
+        Assertions.assertEquals(URI.create("https://b.com/pack.zip"), location.uri());
+    }
+
+    @Test
+    public void test_primary_with_fallback_fails_if_every_target_fails() {
+        Map<String, ResourcePackExporter> targets = new LinkedHashMap<>();
+        targets.put("primary", failing());
+        targets.put("secondary", failing());
+
+        Assertions.assertThrows(IOException.class, () -> export(CompositeExporter.Policy.PRIMARY_WITH_FALLBACK, targets));
+    }
+
+    private static ResourcePackLocation export(CompositeExporter.Policy policy, Map<String, ResourcePackExporter> targets) throws IOException {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setLevel(Level.OFF);
+        CompositeExporter exporter = new CompositeExporter(targets, policy, EXECUTOR, logger);
+        BuiltResourcePack builtResourcePack = BuiltResourcePack.of(Writable.bytes(new byte[0]), "hash");
+        return Assertions.assertTimeoutPreemptively(TIMEOUT, () -> exporter.export(ResourcePack.resourcePack(), builtResourcePack));
+    }
+
+    private static ResourcePackExporter location(String uri) {
+        return resourcePack -> ResourcePackLocation.of(uri, "hash");
+    }
+
+    private static ResourcePackExporter failing() {
+        return resourcePack -> {
+            throw new IOException("Remote is down");
+        };
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    // an export that never completes, e.g. a remote that never answers
+    private static ResourcePackExporter never() {
+        return new ResourcePackExporter() {
+            @Override
+            public ResourcePackLocation export(ResourcePack resourcePack) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<ResourcePackLocation> exportAsync(ResourcePack resourcePack, BuiltResourcePack builtResourcePack, Executor executor) {
+                return new CompletableFuture<>();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.export;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.central.common.config.ExportConfiguration;
+import team.unnamed.creative.central.export.ResourcePackExporter;
+import team.unnamed.creative.central.export.ResourcePackLocation;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class RetryingExporterTest {
+
+    private static final ResourcePackLocation LAST_GOOD = ResourcePackLocation.of("https://example.com/last.zip", "last");
+    private static final ResourcePackLocation NEW = ResourcePackLocation.of("https://example.com/new.zip", "new");
+
+    @Test
+    public void test_retries_until_success() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker(1, 60_000);
+        RetryingExporter exporter = exporter(resourcePack -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("Remote is down");
+            }
+            return NEW;
+        }, breaker, null);
+
+        Assertions.assertSame(NEW, export(exporter));
+        Assertions.assertEquals(3, calls.get());
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void test_backoff_is_bounded() {
+        ExportConfiguration.RetryConfiguration config = new ExportConfiguration.RetryConfiguration();
+        config.initialBackoff(1);
+        config.maxBackoff(4);
+        RetryingExporter exporter = new RetryingExporter(resourcePack -> NEW, config, new CircuitBreaker(1, 0), null, logger());
+
+        for (int i = 0; i < 100; i++) {
+            // 1s, 2s, 4s and then capped to 4s
+            Assertions.assertTrue(exporter.backoff(1) <= 1_000L);
+            Assertions.assertTrue(exporter.backoff(2) <= 2_000L);
+            Assertions.assertTrue(exporter.backoff(3) <= 4_000L);
+            Assertions.assertTrue(exporter.backoff(10) <= 4_000L);
+            Assertions.assertTrue(exporter.backoff(100) >= 0L);
+        }
+    }
+
+    @Test
+    public void test_falls_back_to_last_good_location() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ResourcePackExporter failing = resourcePack -> {
+            calls.incrementAndGet();
+            throw new IOException("Remote is down");
+        };
+
+        Assertions.assertSame(LAST_GOOD, export(exporter(failing, new CircuitBreaker(10, 60_000), LAST_GOOD)));
+        Assertions.assertEquals(3, calls.get());
+
+        // without a last good location, the failure is propagated
+        Assertions.assertThrows(IOException.class, () -> export(exporter(failing, new CircuitBreaker(10, 60_000), null)));
+    }
+
+    @Test
+    public void test_open_circuit_skips_export() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker(1, 60_000);
+        RetryingExporter exporter = exporter(resourcePack -> {
+            calls.incrementAndGet();
+            throw new IOException("Remote is down");
+        }, breaker, LAST_GOOD);
+
+        Assertions.assertSame(LAST_GOOD, export(exporter));
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        Assertions.assertEquals(3, calls.get());
+
+        // the remote is not called while the circuit is open
+        Assertions.assertSame(LAST_GOOD, export(exporter));
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void test_success_closes_half_open_circuit() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.recordFailure();
+
+        Assertions.assertSame(NEW, export(exporter(resourcePack -> NEW, breaker, LAST_GOOD)));
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void test_unexpected_failure_releases_probe() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.recordFailure();
+
+        RetryingExporter exporter = exporter(resourcePack -> {
+            throw new IllegalStateException("Unexpected");
+        }, breaker, LAST_GOOD);
+        Assertions.assertThrows(IllegalStateException.class, () -> export(exporter));
+
+        // the probe failed, so the next request is a new probe
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        Assertions.assertTrue(breaker.allowRequest());
+    }
+
+    private static RetryingExporter exporter(ResourcePackExporter delegate, CircuitBreaker breaker, ResourcePackLocation fallback) {
+        ExportConfiguration.RetryConfiguration config = new ExportConfiguration.RetryConfiguration();
+        config.maxAttempts(3);
+        config.initialBackoff(0);
+        return new RetryingExporter(delegate, config, breaker, fallback, logger());
+    }
+
+    private static ResourcePackLocation export(RetryingExporter exporter) throws IOException {
+        return exporter.export(ResourcePack.resourcePack(), BuiltResourcePack.of(Writable.bytes(new byte[0]), "new"));
+    }
+
+    private static Logger logger() {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setLevel(Level.OFF);
+        return logger;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.central.export.ResourcePackLocation;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class BuiltResourcePackCacheTest {
+
+    private static final String POLYMATH = "polymath https://atlas.oraxen.com/ very-secret";
+
+    @Test
+    public void test_saved_resource_pack_is_loaded() throws Exception {
+        File folder = Files.createTempDirectory("cache").toFile();
+        BuiltResourcePackCache cache = new BuiltResourcePackCache(folder);
+        BuiltResourcePack pack = pack("data");
+        ResourcePackLocation location = ResourcePackLocation.of("https://atlas.oraxen.com/pack.zip", pack.hash());
+        cache.save(POLYMATH, pack, location);
+
+        BuiltResourcePackCache.Entry entry = cache.load();
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals(pack.hash(), entry.pack().hash());
+        Assertions.assertNotNull(entry.location());
+        Assertions.assertEquals(location.uri(), entry.location().uri());
+        Assertions.assertEquals(location.hash(), entry.location().hash());
+        Assertions.assertTrue(entry.exportedWith(POLYMATH));
+        Assertions.assertFalse(entry.exportedWith("mcpacks"));
+    }
+
+    @Test
+    public void test_export_type_is_not_stored() throws Exception {
+        File folder = Files.createTempDirectory("cache").toFile();
+        BuiltResourcePack pack = pack("data");
+        new BuiltResourcePackCache(folder).save(POLYMATH, pack, null);
+
+        String metadata = new String(Files.readAllBytes(folder.toPath().resolve("pack.json")), StandardCharsets.UTF_8);
+        Assertions.assertFalse(metadata.contains("very-secret"), "The export type secret was stored");
+    }
+
+    @Test
+    public void test_missing_metadata_is_ignored() throws Exception {
+        File folder = Files.createTempDirectory("cache").toFile();
+        BuiltResourcePackCache cache = new BuiltResourcePackCache(folder);
+        Assertions.assertNull(cache.load(), "Empty cache should not be loaded");
+
+        cache.save("mcpacks", pack("data"), null);
+        Files.delete(folder.toPath().resolve("pack.json"));
+        Assertions.assertNull(cache.load(), "Cache without metadata should not be loaded");
+    }
+
+    @Test
+    public void test_corrupt_metadata_is_ignored() throws Exception {
+        File folder = Files.createTempDirectory("cache").toFile();
+        BuiltResourcePackCache cache = new BuiltResourcePackCache(folder);
+        cache.save("mcpacks", pack("data"), null);
+        Path metadata = folder.toPath().resolve("pack.json");
+
+        Files.write(metadata, "{\"hash\": ".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNull(cache.load(), "Invalid JSON should not be loaded");
+
+        Files.write(metadata, "[1, 2, 3]".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNull(cache.load(), "Unexpected JSON should not be loaded");
+
+        Files.write(metadata, "{\"hash\": \"other\", \"exporter\": \"x\"}".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNull(cache.load(), "Mismatching hash should not be loaded");
+    }
+
+    private static BuiltResourcePack pack(String content) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        return BuiltResourcePack.of(Writable.bytes(data), DeterministicResourcePackWriter.sha1(data));
+    }
+
+}
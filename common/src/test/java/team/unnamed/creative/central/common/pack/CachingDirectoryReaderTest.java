@@ -0,0 +1,108 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CachingDirectoryReaderTest {
+
+    private static final String TEXTURE = "assets/minecraft/textures/item/";
+
+    @Test
+    public void test_only_changed_unit_is_parsed_again() throws IOException {
+        Path directory = Files.createTempDirectory("pack");
+        write(directory, TEXTURE + "a.png", 1);
+        write(directory, TEXTURE + "b.png", 1);
+        write(directory, TEXTURE + "b.png.mcmeta", 1);
+
+        List<String> parsed = new ArrayList<>();
+        CachingDirectoryReader reader = new CachingDirectoryReader(recording(parsed));
+
+        reader.read(directory.toFile());
+        Assertions.assertEquals(
+                Arrays.asList(TEXTURE + "a.png", TEXTURE + "b.png", TEXTURE + "b.png.mcmeta"),
+                parsed
+        );
+
+        // nothing changed, nothing is parsed
+        parsed.clear();
+        reader.read(directory.toFile());
+        Assertions.assertEquals(Collections.emptyList(), parsed);
+
+        // changing the metadata parses the texture and its metadata again
+        write(directory, TEXTURE + "b.png.mcmeta", 2);
+        reader.read(directory.toFile());
+        Assertions.assertEquals(Arrays.asList(TEXTURE + "b.png", TEXTURE + "b.png.mcmeta"), parsed);
+    }
+
+    @Test
+    public void test_invalidate_parses_everything_again() throws IOException {
+        Path directory = Files.createTempDirectory("pack");
+        write(directory, TEXTURE + "a.png", 1);
+
+        List<String> parsed = new ArrayList<>();
+        CachingDirectoryReader reader = new CachingDirectoryReader(recording(parsed));
+        reader.read(directory.toFile());
+
+        parsed.clear();
+        reader.invalidate();
+        reader.read(directory.toFile());
+        Assertions.assertEquals(Collections.singletonList(TEXTURE + "a.png"), parsed);
+    }
+
+    private static void write(Path directory, String path, int size) throws IOException {
+        File file = directory.resolve(path).toFile();
+        Assertions.assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        // a different size, so the change is detected even within the
+        // file system timestamp precision
+        Files.write(file.toPath(), new byte[size]);
+    }
+
+    private static MinecraftResourcePackReader recording(List<String> parsed) {
+        // records the parsed files, without actually parsing them
+        return new MinecraftResourcePackReader() {
+            @Override
+            public ResourcePack read(FileTreeReader reader) {
+                while (reader.hasNext()) {
+                    parsed.add(reader.next());
+                }
+                return ResourcePack.resourcePack();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+
+import java.nio.charset.StandardCharsets;
+
+public class DeterministicResourcePackWriterTest {
+
+    @Test
+    public void test_same_resource_pack_produces_same_hash() throws Exception {
+        ResourcePack first = ResourcePack.resourcePack();
+        first.packMeta(8, "Test resource-pack!");
+        first.icon(Writable.bytes("icon".getBytes(StandardCharsets.UTF_8)));
+
+        // same resources, added in a different order
+        ResourcePack second = ResourcePack.resourcePack();
+        second.icon(Writable.bytes("icon".getBytes(StandardCharsets.UTF_8)));
+        second.packMeta(8, "Test resource-pack!");
+
+        BuiltResourcePack firstBuilt = DeterministicResourcePackWriter.build(first);
+        BuiltResourcePack secondBuilt = DeterministicResourcePackWriter.build(second);
+        Assertions.assertEquals(firstBuilt.hash(), secondBuilt.hash());
+        Assertions.assertArrayEquals(firstBuilt.data().toByteArray(), secondBuilt.data().toByteArray());
+
+        // the hash is the hash of the built data
+        Assertions.assertEquals(DeterministicResourcePackWriter.sha1(firstBuilt.data().toByteArray()), firstBuilt.hash());
+
+        // building the same instance again produces the same hash
+        Assertions.assertEquals(firstBuilt.hash(), DeterministicResourcePackWriter.build(first).hash());
+    }
+
+    @Test
+    public void test_different_resource_packs_produce_different_hashes() {
+        ResourcePack first = ResourcePack.resourcePack();
+        first.packMeta(8, "First resource-pack");
+
+        ResourcePack second = ResourcePack.resourcePack();
+        second.packMeta(8, "Second resource-pack");
+
+        Assertions.assertNotEquals(
+                DeterministicResourcePackWriter.build(first).hash(),
+                DeterministicResourcePackWriter.build(second).hash()
+        );
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.pack;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+public class DeterministicZipOutputStreamTest {
+
+    @Test
+    public void test_same_entries_produce_same_bytes() throws Exception {
+        byte[] first = zip("b.json", "a.png", "assets/c.json");
+        byte[] second = zip("assets/c.json", "a.png", "b.json");
+        Assertions.assertArrayEquals(first, second);
+    }
+
+    @Test
+    public void test_entries_are_sorted() throws Exception {
+        byte[] zip = zip("pack.mcmeta", "assets/minecraft/b.json", "assets/minecraft/a.json");
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        expected.add("assets/minecraft/a.json");
+        expected.add("assets/minecraft/b.json");
+        expected.add("pack.mcmeta");
+        Assertions.assertEquals(expected, names);
+    }
+
+    @Test
+    public void test_entries_have_fixed_time_and_same_content() throws Exception {
+        // bigger than the copy buffer, to be streamed in several chunks
+        byte[] large = new byte[100_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) (i * 31);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new DeterministicZipOutputStream(output)) {
+            ZipEntry entry = new ZipEntry("z.png");
+            entry.setTime(System.currentTimeMillis());
+            zip.putNextEntry(entry);
+            zip.write(large);
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("a.json"));
+            zip.write("{}".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                names.add(entry.getName());
+                Assertions.assertEquals(DeterministicZipOutputStream.ENTRY_TIME, entry.getTime(), "Entry time should be fixed");
+
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    content.write(buffer, 0, read);
+                }
+                if (entry.getName().equals("z.png")) {
+                    Assertions.assertArrayEquals(large, content.toByteArray());
+                } else {
+                    Assertions.assertEquals("{}", new String(content.toByteArray(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        expected.add("a.json");
+        expected.add("z.png");
+        Assertions.assertEquals(expected, names);
+    }
+
+    private static byte[] zip(String... names) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new DeterministicZipOutputStream(output)) {
+            for (String name : names) {
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(("content of " + name).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return output.toByteArray();
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AcceptEncodingTest {
+
+    @Test
+    public void test_coding_is_accepted() {
+        Assertions.assertTrue(ServedResourcePack.accepts("gzip", "gzip"));
+        Assertions.assertTrue(ServedResourcePack.accepts("deflate, GZIP;q=0.5", "gzip"));
+        Assertions.assertTrue(ServedResourcePack.accepts("*", "gzip"));
+        Assertions.assertFalse(ServedResourcePack.accepts("deflate", "gzip"));
+        Assertions.assertFalse(ServedResourcePack.accepts("gzip;q=0", "gzip"));
+    }
+
+    @Test
+    public void test_exact_match_takes_precedence_over_wildcard() {
+        Assertions.assertTrue(ServedResourcePack.accepts("*;q=0, gzip", "gzip"));
+        Assertions.assertFalse(ServedResourcePack.accepts("gzip;q=0, *", "gzip"));
+        Assertions.assertFalse(ServedResourcePack.accepts("*;q=0, deflate", "gzip"));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ByteRangeTest {
+
+    @Test
+    public void test_full_resource_is_served_without_valid_range() {
+        Assertions.assertNull(ByteRange.parse(null, 100));
+        Assertions.assertNull(ByteRange.parse("items=0-10", 100));
+        Assertions.assertNull(ByteRange.parse("bytes=0-10,20-30", 100));
+        Assertions.assertNull(ByteRange.parse("bytes=abc-", 100));
+        // last position before the first one, invalid syntax
+        Assertions.assertNull(ByteRange.parse("bytes=20-10", 100));
+    }
+
+    @Test
+    public void test_bounded_range() {
+        ByteRange range = ByteRange.parse("bytes=10-19", 100);
+        Assertions.assertNotNull(range);
+        Assertions.assertEquals(10, range.start());
+        Assertions.assertEquals(19, range.end());
+        Assertions.assertEquals(10, range.length());
+    }
+
+    @Test
+    public void test_open_and_clamped_ranges() {
+        ByteRange open = ByteRange.parse("bytes=90-", 100);
+        Assertions.assertNotNull(open);
+        Assertions.assertEquals(90, open.start());
+        Assertions.assertEquals(99, open.end());
+
+        ByteRange clamped = ByteRange.parse("bytes=50-1000", 100);
+        Assertions.assertNotNull(clamped);
+        Assertions.assertEquals(99, clamped.end());
+    }
+
+    @Test
+    public void test_suffix_range() {
+        ByteRange range = ByteRange.parse("bytes=-30", 100);
+        Assertions.assertNotNull(range);
+        Assertions.assertEquals(70, range.start());
+        Assertions.assertEquals(99, range.end());
+
+        ByteRange whole = ByteRange.parse("bytes=-500", 100);
+        Assertions.assertNotNull(whole);
+        Assertions.assertEquals(0, whole.start());
+    }
+
+    @Test
+    public void test_unsatisfiable_range() {
+        Assertions.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=100-", 100));
+        Assertions.assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 100));
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.central.common.config.ExportConfiguration;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class DownloadLimiterTest {
+
+    private static DownloadLimiter limiter(int maxConcurrentDownloads, int maxWait) {
+        ExportConfiguration.RateLimitConfiguration config = new ExportConfiguration.RateLimitConfiguration();
+        config.maxConcurrentDownloads(maxConcurrentDownloads);
+        config.maxWait(maxWait);
+        DownloadLimiter limiter = DownloadLimiter.create(config);
+        Assertions.assertNotNull(limiter);
+        return limiter;
+    }
+
+    @Test
+    public void test_no_limits() {
+        Assertions.assertNull(DownloadLimiter.create(new ExportConfiguration.RateLimitConfiguration()));
+    }
+
+    @Test
+    public void test_rejected_without_wait() {
+        DownloadLimiter limiter = limiter(1, 0);
+        Assertions.assertTrue(limiter.tryStart());
+        Assertions.assertFalse(limiter.tryStart());
+        limiter.finish();
+        Assertions.assertTrue(limiter.tryStart());
+    }
+
+    @Test
+    public void test_waiting_download_starts_when_slot_is_freed() throws InterruptedException {
+        DownloadLimiter limiter = limiter(1, 10);
+        Assertions.assertTrue(limiter.tryStart());
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean result = new AtomicBoolean();
+        Thread waiting = new Thread(() -> {
+            result.set(limiter.tryStart());
+            started.countDown();
+        });
+        waiting.start();
+
+        // still waiting for the first download
+        Assertions.assertFalse(started.await(100, TimeUnit.MILLISECONDS));
+        limiter.finish();
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(result.get());
+    }
+
+}
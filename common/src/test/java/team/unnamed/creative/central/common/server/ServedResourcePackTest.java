@@ -0,0 +1,64 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.base.Writable;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ServedResourcePackTest {
+
+    private static BuiltResourcePack pack(String hash) {
+        // compressible data
+        return BuiltResourcePack.of(Writable.bytes(new byte[4096]), hash);
+    }
+
+    @Test
+    public void test_only_enabled_encodings_are_built() {
+        ServedResourcePack gzipOnly = new ServedResourcePack(pack("a"), Collections.singletonList("gzip"), null);
+        Assertions.assertEquals("gzip", gzipOnly.select("gzip, deflate").encoding());
+        Assertions.assertNull(gzipOnly.select("deflate").encoding());
+
+        ServedResourcePack uncompressed = new ServedResourcePack(pack("a"), Collections.emptyList(), null);
+        Assertions.assertNull(uncompressed.select("gzip, deflate").encoding());
+    }
+
+    @Test
+    public void test_same_hash_keeps_last_modified_and_data() {
+        ServedResourcePack previous = new ServedResourcePack(pack("a"), Collections.singletonList("gzip"), null);
+        ServedResourcePack next = new ServedResourcePack(pack("a"), Arrays.asList("gzip", "deflate"), previous);
+
+        Assertions.assertEquals(previous.lastModified(), next.lastModified());
+        Assertions.assertEquals(previous.lastModifiedHeader(), next.lastModifiedHeader());
+        Assertions.assertSame(previous.select(null), next.select(null));
+        Assertions.assertSame(previous.select("gzip"), next.select("gzip"));
+        // newly enabled encodings are built
+        Assertions.assertEquals("deflate", next.select("deflate").encoding());
+    }
+
+}
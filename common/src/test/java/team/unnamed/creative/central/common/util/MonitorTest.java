@@ -0,0 +1,125 @@
+/*
+ * This file is part of creative-central, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2023 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.central.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MonitorTest {
+
+    @Test
+    public void test_set_increments_version_and_notifies() {
+        Monitor<String> monitor = Monitor.monitor("a");
+        List<String> changes = new ArrayList<>();
+        monitor.onChange((oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+
+        Assertions.assertEquals(0, monitor.snapshot().version());
+        monitor.set("b");
+        Assertions.assertEquals("b", monitor.get());
+        Assertions.assertEquals(1, monitor.snapshot().version());
+        Assertions.assertEquals(1, changes.size());
+        Assertions.assertEquals("a->b", changes.get(0));
+    }
+
+    @Test
+    public void test_compare_and_set_fails_on_stale_snapshot() {
+        Monitor<String> monitor = Monitor.monitor("a");
+        Monitor.Snapshot<String> snapshot = monitor.snapshot();
+
+        monitor.set("b");
+        Assertions.assertFalse(monitor.compareAndSet(snapshot, "c"), "Snapshot is stale");
+        Assertions.assertEquals("b", monitor.get());
+
+        Assertions.assertTrue(monitor.compareAndSet(monitor.snapshot(), "c"));
+        Assertions.assertEquals("c", monitor.get());
+        Assertions.assertEquals(2, monitor.snapshot().version());
+    }
+
+    @Test
+    public void test_listeners_run_on_executor() throws InterruptedException {
+        CountDownLatch notified = new CountDownLatch(1);
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        Monitor<String> monitor = Monitor.monitor("a", task -> new Thread(task).start());
+        monitor.onChange((oldValue, newValue) -> {
+            listenerThread.set(Thread.currentThread());
+            notified.countDown();
+        });
+
+        monitor.set("b");
+        Assertions.assertTrue(notified.await(5, TimeUnit.SECONDS));
+        Assertions.assertNotSame(Thread.currentThread(), listenerThread.get(), "Listener ran in the setter thread");
+    }
+
+    @Test
+    public void test_out_of_order_notifications_are_skipped() {
+        List<Runnable> tasks = new ArrayList<>();
+        Monitor<String> monitor = Monitor.monitor("a", tasks::add);
+        List<String> changes = new ArrayList<>();
+        monitor.onChange((oldValue, newValue) -> changes.add(newValue));
+
+        monitor.set("b");
+        monitor.set("c");
+        Assertions.assertEquals(2, tasks.size());
+
+        // the executor runs the notification for "c" first
+        Collections.reverse(tasks);
+        tasks.forEach(Runnable::run);
+
+        Assertions.assertEquals(Collections.singletonList("c"), changes);
+    }
+
+    @Test
+    public void test_listeners_do_not_block_other_setters() throws InterruptedException {
+        Monitor<String> monitor = Monitor.monitor("a");
+        List<String> changes = new CopyOnWriteArrayList<>();
+        AtomicReference<Thread> setter = new AtomicReference<>();
+        monitor.onChange((oldValue, newValue) -> {
+            changes.add(newValue);
+            if (newValue.equals("b")) {
+                // another thread replaces the value while this listener runs
+                Thread thread = new Thread(() -> monitor.set("c"));
+                setter.set(thread);
+                thread.start();
+                try {
+                    thread.join(5000L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        monitor.set("b");
+        Assertions.assertFalse(setter.get().isAlive(), "Setter was blocked by a running listener");
+        Assertions.assertEquals("c", changes.get(changes.size() - 1));
+    }
+
+}
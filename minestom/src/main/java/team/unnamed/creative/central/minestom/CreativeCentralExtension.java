@@ -53,7 +53,7 @@ import java.util.concurrent.CompletableFuture;
 public class CreativeCentralExtension extends Extension implements CreativeCentral {
 
     private ServeOptions serveOptions;
-    private EventBus eventBus;
+    private EventBusImpl<Extension> eventBus;
     private ResourcePackRequestSender requestSender;
     private CentralResourcePackServer resourcePackServer;
 
@@ -91,6 +91,7 @@ public class CreativeCentralExtension extends Extension implements CreativeCentr
 
     @Override
     public void terminate() {
+        eventBus.close();
         eventBus = null;
         requestSender = null;
         serveOptions = null;
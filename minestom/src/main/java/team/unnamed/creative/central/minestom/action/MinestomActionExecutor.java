@@ -24,8 +24,11 @@
 package team.unnamed.creative.central.minestom.action;
 
 import net.minestom.server.entity.Player;
+import net.kyori.adventure.text.Component;
 import team.unnamed.creative.central.common.action.*;
 
+import java.util.function.Function;
+
 public final class MinestomActionExecutor extends AudienceActionExecutor<Player> {
 
     private static final ActionExecutor<Player> INSTANCE = new MinestomActionExecutor();
@@ -33,6 +36,15 @@ public final class MinestomActionExecutor extends AudienceActionExecutor<Player>
     private MinestomActionExecutor() {
     }
 
+    @Override
+    protected CompiledAction<Player> compileAction(Action action, PlaceholderResolver<Player> placeholders) {
+        if (action instanceof KickAction kickAction) {
+            TemplateRenderer<Player, Component> reason = new TemplateRenderer<>(kickAction.reasonTemplate(), placeholders, Function.identity());
+            return player -> player.kick(reason.render(player));
+        }
+        return super.compileAction(action, placeholders);
+    }
+
     @Override
     public void executeAction(Action action, Player player) {
         if (action instanceof KickAction kickAction) {
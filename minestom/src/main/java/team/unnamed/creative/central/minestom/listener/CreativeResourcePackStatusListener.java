@@ -24,34 +24,45 @@
 package team.unnamed.creative.central.minestom.listener;
 
 import net.minestom.server.entity.Player;
-import team.unnamed.creative.central.common.action.Action;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.central.common.action.FeedbackPlan;
+import team.unnamed.creative.central.common.action.PlaceholderResolver;
 import team.unnamed.creative.central.common.config.Configuration;
 import team.unnamed.creative.central.common.util.Monitor;
 import team.unnamed.creative.central.event.EventListener;
 import team.unnamed.creative.central.event.pack.ResourcePackStatusEvent;
 import team.unnamed.creative.central.minestom.action.MinestomActionExecutor;
-import team.unnamed.creative.central.pack.ResourcePackStatus;
-
-import java.util.Collections;
-import java.util.List;
 
 public class CreativeResourcePackStatusListener implements EventListener<ResourcePackStatusEvent> {
 
-    private final Monitor<Configuration> config;
+    private static final PlaceholderResolver<Player> PLACEHOLDERS = new PlaceholderResolver<>() {
+        @Override
+        public @NotNull Object key(@NotNull Player player) {
+            return player.getUuid();
+        }
+
+        @Override
+        public @Nullable String resolve(@NotNull String placeholder, @NotNull Player player) {
+            return switch (placeholder) {
+                case PLAYER -> player.getUsername();
+                case UUID -> player.getUuid().toString();
+                default -> null;
+            };
+        }
+    };
+
+    // the feedback actions, compiled again when the configuration changes
+    private volatile FeedbackPlan<Player> feedback;
 
     public CreativeResourcePackStatusListener(Monitor<Configuration> config) {
-        this.config = config;
+        this.feedback = FeedbackPlan.compile(config.get().feedback(), MinestomActionExecutor.minestom(), PLACEHOLDERS);
+        config.onChange((oldValue, newValue) -> this.feedback = FeedbackPlan.compile(newValue.feedback(), MinestomActionExecutor.minestom(), PLACEHOLDERS));
     }
 
     @Override
     public void on(ResourcePackStatusEvent event) {
-        ResourcePackStatus status = event.status();
-        Player player = (Player) event.player();
-
-        List<Action> actions = config.get().feedback().getOrDefault(status, Collections.emptyList());
-        for (Action action : actions) {
-            MinestomActionExecutor.minestom().execute(action, player);
-        }
+        feedback.execute(event.status(), (Player) event.player());
     }
 
 }
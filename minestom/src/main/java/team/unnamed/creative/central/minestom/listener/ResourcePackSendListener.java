@@ -51,7 +51,7 @@ public class ResourcePackSendListener {
         }
 
         Player player = event.getPlayer();
-        ResourcePackRequest request = options.request();
+        ResourcePackRequest request = options.request(player.getUuid());
         if (request == null) {
             // todo: should we kick the player?
             return;
@@ -48,7 +48,7 @@ public class ResourcePackStatusListener {
             case SUCCESS -> ResourcePackStatus.LOADED;
         };
 
-        central.eventBus().call(ResourcePackStatusEvent.class, new ResourcePackStatusEvent(player, status));
+        central.eventBus().callAsync(ResourcePackStatusEvent.class, new ResourcePackStatusEvent(player, status));
     }
 
 }